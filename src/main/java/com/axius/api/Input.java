@@ -6,23 +6,141 @@ package com.axius.api;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.Options;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
+import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
+import net.minecraftforge.client.settings.KeyModifier;
+import com.mojang.blaze3d.platform.InputConstants;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import org.apache.commons.lang3.ArrayUtils;
 
+/**
+ * Contains classes related to input utilities.
+ */
+import com.axius.util.input.Lane;
+import com.axius.util.input.Latency;
+import com.axius.controller.Axius;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
  * The Input class provides functionality for handling keyboard and key binding events.
  */
 public class Input {
-    private static Map<Integer, KeyboardEvent> keyInputs;
-    private static ArrayList<KeyBindingEvent> bindedInputs;
+    private static final KeyboardEvent[] NO_KEYS = new KeyboardEvent[0];
+    private static final KeyBindingEvent[] NO_BINDINGS = new KeyBindingEvent[0];
+    private static final SequenceEvent[] NO_SEQUENCES = new SequenceEvent[0];
+    private static final GamepadEvent[] NO_GAMEPADS = new GamepadEvent[0];
+
+    private static volatile KeyboardEvent[][] keyInputs = fill(new KeyboardEvent[Key.KEY_LAST + 1][], NO_KEYS);
+    private static final ArrayList<KeyboardEvent> registeredInputs = new ArrayList<KeyboardEvent>();
+    private static final ArrayList<KeyBindingEvent> bindedInputs = new ArrayList<KeyBindingEvent>();
+    private static volatile KeyBindingEvent[][] bindingInputs = fill(new KeyBindingEvent[Key.KEY_LAST + 1][], NO_BINDINGS);
+    private static final ArrayList<SequenceEvent> sequencedInputs = new ArrayList<SequenceEvent>();
+    private static volatile SequenceEvent[][] sequenceInputs = fill(new SequenceEvent[Key.KEY_LAST + 1][], NO_SEQUENCES);
+    private static volatile GamepadEvent[][] gamepadInputs = fill(new GamepadEvent[(Joysticks.JOYSTICK_LAST + 1) * GamepadEvent.CONTROLS][], NO_GAMEPADS);
+    private static volatile int gamepadCount = 0;
+    private static final long[] pressedKeys = new long[(Key.KEY_LAST >>> 6) + 1];
+    private static volatile Snapshot snapshot = new Snapshot(pressedKeys, 0L);
+    private static final ArrayList<KeyMapping> pendingMappings = new ArrayList<KeyMapping>();
+    private static boolean mappingsRegistered = false;
+    private static volatile String[] keyNames = new String[Key.KEY_LAST + 1];
 
     /**
-     * Initializes a new Input instance with empty keyInputs and bindedInputs collections.
+     * Initializes a new Input instance and subscribes it to the client registration events.
+     * The keyInputs table is indexed directly by GLFW key code, so a key event resolves
+     * to its subscribed KeyboardEvents without hashing or iterating, and bindingInputs holds,
+     * per key code, only the key bindings that contain that key. Both tables are copy-on-write:
+     * registration replaces them, and dispatch reads them without locking.
      */
     public Input() {
-        keyInputs = new HashMap<Integer, KeyboardEvent>();
-        bindedInputs = new ArrayList<KeyBindingEvent>();
+        // Subscribe to the key mapping registration event
+        IEventBus bus = FMLJavaModLoadingContext.get().getModEventBus();
+        bus.addListener(this::onRegisterKeyMappings);
+
+        // Subscribe to the reload listener registration event
+        bus.addListener(this::onRegisterReloadListeners);
+    }
+
+    /**
+     * Registers a reload listener which clears the cached key names, since changing the
+     * language reloads the client resources.
+     *
+     * @param event The RegisterClientReloadListenersEvent.
+     */
+    private void onRegisterReloadListeners(RegisterClientReloadListenersEvent event) {
+        event.registerReloadListener((ResourceManagerReloadListener) manager -> clearKeyNames());
+    }
+
+    /**
+     * Registers every queued key mapping in a single pass once the client options exist.
+     *
+     * @param event The RegisterKeyMappingsEvent.
+     */
+    private void onRegisterKeyMappings(RegisterKeyMappingsEvent event) {
+        synchronized (Input.class) {
+            for (int i = 0, m = pendingMappings.size(); i < m; i++) {
+                event.register(pendingMappings.get(i));
+            }
+
+            pendingMappings.clear();
+            mappingsRegistered = true;
+        }
+    }
+
+    /**
+     * Queues a key mapping for Forge's key mapping registration event. Mappings created after the
+     * event has fired are appended to the client options directly, and given the key saved for
+     * them in options.txt, if any.
+     *
+     * @param mapping The key mapping to register.
+     */
+    private static synchronized void queueMapping(KeyMapping mapping) {
+        if (!mappingsRegistered) {
+            pendingMappings.add(mapping);
+
+            return;
+        }
+
+        Minecraft minecraft = Minecraft.getInstance();
+        Options options = minecraft.options;
+
+        options.keyMappings = ArrayUtils.add(options.keyMappings, mapping);
+        loadSavedKey(mapping, minecraft.gameDirectory.toPath().resolve("options.txt"));
+        KeyMapping.resetMapping();
+    }
+
+    /**
+     * Sets a key mapping to the key saved for it in the options file, in the format the options
+     * are saved in: "key_name:key" with an optional ":MODIFIER".
+     *
+     * @param mapping The key mapping to load.
+     * @param file    The options file.
+     */
+    private static void loadSavedKey(KeyMapping mapping, Path file) {
+        String prefix = "key_" + mapping.getName() + ":";
+
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.startsWith(prefix)) {
+                    continue;
+                }
+
+                String[] parts = line.substring(prefix.length()).split(":");
+                KeyModifier modifier = parts.length > 1 ? KeyModifier.valueFromString(parts[1]) : KeyModifier.NONE;
+
+                mapping.setKeyModifierAndCode(modifier, InputConstants.getKey(parts[0]));
+
+                return;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            Axius.LOGGER.warn("Failed to load the saved key of {}", mapping.getName(), e);
+        }
     }
 
     /**
@@ -37,6 +155,46 @@ public class Input {
         void listen(Type state);
     }
 
+    /**
+     * Represents a listener interface for key state changes whose work is too slow for the client
+     * thread. The work runs in order on a bounded worker lane, and the Runnable it returns, if any,
+     * is run back on the client thread.
+     */
+    public interface IAsyncState extends IState {
+        /**
+         * Called on the worker lane when the state of a key changes.
+         *
+         * @param state The new state of the key.
+         * @return Work to run on the client thread afterwards, or null if there is none.
+         */
+        Runnable listenAsync(Type state);
+
+        /**
+         * Hands the state change to the worker lane instead of handling it on the client thread.
+         *
+         * @param state The new state of the key.
+         */
+        @Override
+        default void listen(Type state) {
+            Lane.submit(this, state);
+        }
+    }
+
+    /**
+     * Represents a listener interface for key state changes coalesced into one call per client tick.
+     */
+    public interface ICoalesced {
+        /**
+         * Called once per client tick for a key which changed state during that tick.
+         *
+         * @param state    The state of the key at the end of the tick.
+         * @param presses  The number of presses during the tick.
+         * @param holds    The number of repeats during the tick.
+         * @param releases The number of releases during the tick.
+         */
+        void listen(Type state, int presses, int holds, int releases);
+    }
+
     /**
      * Represents different types of key states.
      */
@@ -53,11 +211,13 @@ public class Input {
     public static class KeyboardEvent {
         final String name;
         int key;
-        Type state;
+        volatile Type state;
         final Type type;
         final IState listener;
         final KeyMapping keymap;
         Boolean binded = false;
+        volatile long pressedAt;
+        ICoalesced coalesced;
 
         /**
          * Initializes a new KeyboardEvent instance with the given key, state, and listener.
@@ -75,14 +235,13 @@ public class Input {
             this.state = Type.Release;
             this.keymap = new KeyMapping(name, key, "axius.api.input.keys");
 
-            // Create a new event map for the given key if it doesn't exist
-            keyInputs.putIfAbsent(key, this);
-
-            //
-            Options options = Minecraft.getInstance().options;
-            options.keyMappings = ArrayUtils.add(options.keyMappings, this.keymap);
+            // Queues the key mapping until Forge's key mapping registration event
+            queueMapping(this.keymap);
 
             this.key = this.keymap.getKey().getValue();
+
+            // Subscribes the event to its key code alongside any existing subscribers
+            register(this);
         }
 
         /**
@@ -93,21 +252,7 @@ public class Input {
          * @param listener The listener to be notified of state changes.
          */
         public KeyboardEvent(String name, int key, IState listener) {
-            this.name = name;
-            this.key = key;
-            this.listener = listener;
-            this.type = Type.Default;
-            this.state = Type.Release;
-            this.keymap = new KeyMapping(name, key, "axius.api.input.keys");
-
-            // Create a new event map for the given key if it doesn't exist
-            keyInputs.putIfAbsent(key, this);
-
-            //
-            Options options = Minecraft.getInstance().options;
-            options.keyMappings = ArrayUtils.add(options.keyMappings, this.keymap);
-
-            this.key = this.keymap.getKey().getValue();
+            this(name, key, Type.Default, listener);
         }
 
         /**
@@ -117,21 +262,7 @@ public class Input {
          * @param key      The key code for the event.
          */
         public KeyboardEvent(String name, int key) {
-            this.name = name;
-            this.key = key;
-            this.listener = null;
-            this.type = Type.Default;
-            this.state = Type.Release;
-            this.keymap = new KeyMapping(name, key, "axius.api.input.keys");
-
-            // Create a new event map for the given key if it doesn't exist
-            keyInputs.putIfAbsent(key, this);
-
-            //
-            Options options = Minecraft.getInstance().options;
-            options.keyMappings = ArrayUtils.add(options.keyMappings, this.keymap);
-
-            this.key = this.keymap.getKey().getValue();
+            this(name, key, Type.Default, null);
         }
 
         /**
@@ -161,23 +292,59 @@ public class Input {
             if (!this.getState().equals(newState)) {
                 // Only updates the state if it wasn't already that state.
 
+                if (this.isReleased()) {
+                    // Stamps the moment the key went down from the monotonic clock.
+                    this.pressedAt = System.nanoTime();
+                }
+
                 this.state = newState;
 
-                if ((this.getState().equals(this.type) || this.type.equals(Type.Default)) && this.listener != null) {
+                if ((this.getState().equals(this.type) || this.type.equals(Type.Default)) && this.listener != null && this.coalesced == null) {
                     // Sends the state updates to the listener and only if it isn't the Hold state.
 
-                    this.listener.listen(this.getState());
+                    listen(this.name, this.listener, this.getState());
                 }
             }
         }
 
+        /**
+         * Switches the KeyboardEvent to tick-coalesced dispatch: key transitions are buffered during
+         * the frame and delivered to the given listener once per client tick, with the final state
+         * and the number of each transition. The immediate listener is no longer notified.
+         *
+         * @param listener The listener to be notified once per tick.
+         * @return This KeyboardEvent.
+         */
+        public KeyboardEvent coalesce(ICoalesced listener) {
+            this.coalesced = listener;
+            return this;
+        }
+
+        /**
+         * Returns the tick-coalesced listener of the KeyboardEvent.
+         *
+         * @return The tick-coalesced listener, or null if the KeyboardEvent dispatches immediately.
+         */
+        public ICoalesced getCoalesced() {
+            return this.coalesced;
+        }
+
+        /**
+         * Returns the name of the KeyboardEvent.
+         *
+         * @return The name.
+         */
+        public String getName() {
+            return this.name;
+        }
+
         /**
          * Updates the KeyboardEvent instance with the new given key.
          *
          * @param key      The key code for the event.
          */
         public void setKey(int key) {
-            this.key = key;
+            rebind(this, key);
         }
 
         public boolean isBinded() {
@@ -211,40 +378,94 @@ public class Input {
             return this.getState().equals(Type.Hold);
         }
 
+        /**
+         * Checks if the key is currently down, either pressed or held.
+         *
+         * @return true if the key is down, false otherwise.
+         */
+        public boolean isDown() {
+            return !this.isReleased();
+        }
+
+        /**
+         * Returns how long the key has been down, measured with a monotonic clock.
+         *
+         * @return The held duration in milliseconds, or 0 if the key is released.
+         */
+        public long getHeldTime() {
+            if (this.isReleased()) {
+                return 0;
+            }
+
+            return (System.nanoTime() - this.pressedAt) / 1_000_000L;
+        }
+
         public KeyMapping getKeymap() {
             return this.keymap;
         }
     }
 
     /**
-     * Represents a key binding event with primary and secondary keys, state, and listener.
+     * Represents a key binding event (a chord of any number of keys) with a state and listener.
+     * The chord keeps a precomputed mask of its key codes, so checking whether it is complete
+     * is a single comparison against the bitset of pressed keys.
      */
     public static class KeyBindingEvent {
+        final String name;
         final ArrayList<KeyboardEvent> keys;
-        Type state;
+        final long[] mask;
+        volatile Type state;
         final Type type;
         final IState listener;
 
         /**
-         * Initializes a new KeyBindingEvent instance with primary and secondary keys, state, and listener.
+         * Initializes a new KeyBindingEvent instance with the given keys, state, and listener.
          *
-         * @param primaryKey   The primary key code for the event.
-         * @param secondaryKey The secondary key code for the event.
-         * @param state        The initial state of the key binding.
-         * @param listener     The listener to be notified of state changes.
+         * @param state    The initial state of the key binding.
+         * @param listener The listener to be notified of state changes.
+         * @param keys     The keys which make up the chord.
          */
-        public KeyBindingEvent(KeyboardEvent primaryKey, KeyboardEvent secondaryKey, Type state, IState listener) {
-            this.keys = new ArrayList<KeyboardEvent>();
-            this.keys.add(primaryKey);
-            this.keys.add(secondaryKey);
+        public KeyBindingEvent(Type state, IState listener, KeyboardEvent... keys) {
+            assert keys.length > 0 : "A key binding requires at least one key.";
+
+            this.keys = new ArrayList<KeyboardEvent>(Arrays.asList(keys));
+            this.name = String.join("+", this.keys.stream().map(key -> key.name).toList());
+            this.mask = new long[pressedKeys.length];
 
             this.state = Type.Release;
             this.listener = listener;
             this.type = state;
 
-            primaryKey.binded = true;
-            secondaryKey.binded = true;
+            for (KeyboardEvent key : keys) {
+                key.binded = true;
+            }
+
             bindedInputs.add(this);
+
+            // Indexes the binding under each of its key codes
+            index(this);
+        }
+
+        /**
+         * Initializes a new KeyBindingEvent instance with the given keys and listener.
+         *
+         * @param listener The listener to be notified of state changes.
+         * @param keys     The keys which make up the chord.
+         */
+        public KeyBindingEvent(IState listener, KeyboardEvent... keys) {
+            this(Type.Default, listener, keys);
+        }
+
+        /**
+         * Initializes a new KeyBindingEvent instance with primary and secondary keys, state, and listener.
+         *
+         * @param primaryKey   The primary key code for the event.
+         * @param secondaryKey The secondary key code for the event.
+         * @param state        The initial state of the key binding.
+         * @param listener     The listener to be notified of state changes.
+         */
+        public KeyBindingEvent(KeyboardEvent primaryKey, KeyboardEvent secondaryKey, Type state, IState listener) {
+            this(state, listener, primaryKey, secondaryKey);
         }
 
         /**
@@ -255,17 +476,7 @@ public class Input {
          * @param listener     The listener to be notified of state changes.
          */
         public KeyBindingEvent(KeyboardEvent primaryKey, KeyboardEvent secondaryKey, IState listener) {
-            this.keys = new ArrayList<KeyboardEvent>();
-            this.keys.add(primaryKey);
-            this.keys.add(secondaryKey);
-
-            this.listener = listener;
-            this.state = Type.Release;
-            this.type = Type.Default;
-
-            primaryKey.binded = true;
-            secondaryKey.binded = true;
-            bindedInputs.add(this);
+            this(Type.Default, listener, primaryKey, secondaryKey);
         }
 
         /**
@@ -275,23 +486,13 @@ public class Input {
          * @param secondaryKey The secondary key code for the event.
          */
         public KeyBindingEvent(KeyboardEvent primaryKey, KeyboardEvent secondaryKey) {
-            this.keys = new ArrayList<KeyboardEvent>();
-            this.keys.add(primaryKey);
-            this.keys.add(secondaryKey);
-
-            this.listener = null;
-            this.state = Type.Release;
-            this.type = Type.Default;
-
-            primaryKey.binded = true;
-            secondaryKey.binded = true;
-            bindedInputs.add(this);
+            this(Type.Default, null, primaryKey, secondaryKey);
         }
 
         /**
-         * Returns a map of primary and secondary keys associated with this key binding event.
+         * Returns the keys which make up this key binding event.
          *
-         * @return A map of primary and secondary keys.
+         * @return The keys of the chord.
          */
         public ArrayList<KeyboardEvent> getKeys() {
             return this.keys;
@@ -320,59 +521,482 @@ public class Input {
                 if ((this.getState().equals(this.type) || this.type.equals(Type.Default))  && this.listener != null) {
                     // Sends the state updates to the listener and only if it isn't the Hold state.
 
-                    this.listener.listen(this.getState());
+                    listen(this.name, this.listener, this.getState());
                 }
             }
         }
 
+        /**
+         * Checks if every key of the chord is currently down.
+         *
+         * @return true if the chord is complete, false otherwise.
+         */
+        public boolean isComplete() {
+            long[] pressed = pressedKeys;
+
+            for (int i = 0; i < this.mask.length; i++) {
+                if ((pressed[i] & this.mask[i]) != this.mask[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
 
         /**
-         * Checks if both the primary and secondary keys are currently being pressed.
+         * Checks if the chord is currently being pressed.
          *
-         * @return true if both keys are pressed, false otherwise.
+         * @return true if the chord is pressed, false otherwise.
          */
         public boolean isPressing() {
-            ArrayList<KeyboardEvent> Keys = this.getKeys();
-            KeyboardEvent primaryKey = Keys.get(0);
-            KeyboardEvent secondaryKey = Keys.get(1);
-
-            return (primaryKey.isPressing() && secondaryKey.isPressing());
+            return this.getState().equals(Type.Press);
         }
 
         /**
-         * Checks if both the primary and secondary keys are currently released.
+         * Checks if the chord is currently released.
          *
-         * @return true if both keys are released, false otherwise.
+         * @return true if the chord is released, false otherwise.
          */
         public boolean isReleased() {
-            ArrayList<KeyboardEvent> Keys = this.getKeys();
-            KeyboardEvent primaryKey = Keys.get(0);
-            KeyboardEvent secondaryKey = Keys.get(1);
-
-            return (primaryKey.isReleased() && secondaryKey.isReleased());
+            return this.getState().equals(Type.Release);
         }
 
         /**
-         * Checks if both the primary and secondary keys are currently being held down.
+         * Checks if the chord is currently being held down.
          *
-         * @return true if both keys are held down, false otherwise.
+         * @return true if the chord is held down, false otherwise.
          */
         public boolean isHolding() {
-            ArrayList<KeyboardEvent> Keys = this.getKeys();
-            KeyboardEvent primaryKey = Keys.get(0);
-            KeyboardEvent secondaryKey = Keys.get(1);
+            return this.getState().equals(Type.Hold);
+        }
 
-            return (primaryKey.isHolding() && secondaryKey.isHolding());
+        /**
+         * Recomputes the key code mask of the chord from the current keys.
+         */
+        void updateMask() {
+            Arrays.fill(this.mask, 0L);
+
+            for (int i = 0, m = this.keys.size(); i < m; i++) {
+                int keyCode = this.keys.get(i).getKey();
+
+                if (keyCode >= 0 && keyCode <= Key.KEY_LAST) {
+                    this.mask[keyCode >>> 6] |= 1L << keyCode;
+                } else {
+                    // An unbound key can never be pressed, so the chord can never complete.
+                    Arrays.fill(this.mask, -1L);
+                    return;
+                }
+            }
         }
     }
 
     /**
-     * Returns the map of key inputs.
+     * Represents a gamepad event for a button, or one direction of an axis, on a joystick, with
+     * the same state transitions and listener as a KeyboardEvent. Gamepads are polled once per
+     * client tick, so a control that stays down moves from Press to Hold on the following tick.
+     */
+    public static class GamepadEvent {
+        /**
+         * The number of controls per joystick: every button, then both directions of every axis.
+         */
+        public static final int CONTROLS = Gamepad.GAMEPAD_BUTTON_LAST + 1 + (Gamepad.GAMEPAD_AXIS_LAST + 1) * 2;
+
+        final String name;
+        final int joystick;
+        final int control;
+        volatile Type state;
+        final Type type;
+        final IState listener;
+
+        /**
+         * Initializes a new GamepadEvent instance with the given joystick, control, state, and listener.
+         *
+         * @param name     The name for the gamepad event.
+         * @param joystick The joystick identifier, see {@link Joysticks}.
+         * @param control  The button identifier, see {@link Gamepad}, or an axis direction from {@link #axis(int, boolean)}.
+         * @param state    The initial state of the control.
+         * @param listener The listener to be notified of state changes.
+         */
+        public GamepadEvent(String name, int joystick, int control, Type state, IState listener) {
+            assert joystick >= 0 && joystick <= Joysticks.JOYSTICK_LAST : "Invalid joystick identifier.";
+            assert control >= 0 && control < CONTROLS : "Invalid gamepad control.";
+
+            this.name = name;
+            this.joystick = joystick;
+            this.control = control;
+            this.type = state;
+            this.listener = listener;
+            this.state = Type.Release;
+
+            // Subscribes the event to its joystick control
+            gamepad(this);
+        }
+
+        /**
+         * Initializes a new GamepadEvent instance with the given joystick, control, and listener.
+         *
+         * @param name     The name for the gamepad event.
+         * @param joystick The joystick identifier, see {@link Joysticks}.
+         * @param control  The button identifier, see {@link Gamepad}, or an axis direction from {@link #axis(int, boolean)}.
+         * @param listener The listener to be notified of state changes.
+         */
+        public GamepadEvent(String name, int joystick, int control, IState listener) {
+            this(name, joystick, control, Type.Default, listener);
+        }
+
+        /**
+         * Returns the control identifier for one direction of a gamepad axis. The control is down
+         * while the axis is pushed past its deadzone in that direction.
+         *
+         * @param axis     The axis identifier, see {@link Gamepad}.
+         * @param positive Whether the control is the positive direction of the axis.
+         * @return The control identifier.
+         */
+        public static int axis(int axis, boolean positive) {
+            return Gamepad.GAMEPAD_BUTTON_LAST + 1 + axis * 2 + (positive ? 0 : 1);
+        }
+
+        /**
+         * Returns the joystick identifier of the gamepad event.
+         *
+         * @return The joystick identifier.
+         */
+        public int getJoystick() {
+            return this.joystick;
+        }
+
+        /**
+         * Returns the control identifier of the gamepad event.
+         *
+         * @return The control identifier.
+         */
+        public int getControl() {
+            return this.control;
+        }
+
+        /**
+         * Returns the current state of the control.
+         *
+         * @return The current state.
+         */
+        public Type getState() {
+            return this.state;
+        }
+
+        /**
+         * Sets the state of the control to the provided state and notifies the listener.
+         *
+         * @param newState The new state to set.
+         */
+        public void setState(Type newState) {
+            if (!this.getState().equals(newState)) {
+                // Only updates the state if it wasn't already that state.
+
+                this.state = newState;
+
+                if ((this.getState().equals(this.type) || this.type.equals(Type.Default)) && this.listener != null) {
+                    listen(this.name, this.listener, this.getState());
+                }
+            }
+        }
+
+        /**
+         * Checks if the control is currently down, either pressed or held.
+         *
+         * @return true if the control is down, false otherwise.
+         */
+        public boolean isDown() {
+            return !this.getState().equals(Type.Release);
+        }
+    }
+
+    /**
+     * Represents a key sequence event, such as a double-tap or a series of keys, which completes
+     * when its steps happen in order with no more than the given window between them. The
+     * sequence is a small state machine which advances in constant time on each key event.
+     */
+    public static class SequenceEvent {
+        final String name;
+        final KeyboardEvent[] keys;
+        final Type[] types;
+        final long window;
+        final IState listener;
+        int index;
+        long deadline;
+        long lastPress;
+
+        /**
+         * Initializes a new SequenceEvent instance from parallel arrays of keys and key states.
+         *
+         * @param name     The name for the sequence event.
+         * @param window   The most time allowed between two steps, in milliseconds.
+         * @param listener The listener to be notified with the final state when the sequence completes.
+         * @param keys     The key of each step.
+         * @param types    The key state of each step.
+         */
+        public SequenceEvent(String name, long window, IState listener, KeyboardEvent[] keys, Type[] types) {
+            assert keys.length > 0 && keys.length == types.length : "A sequence requires one key state per key.";
+
+            this.name = name;
+            this.keys = keys.clone();
+            this.types = types.clone();
+            this.window = window * 1_000_000L;
+            this.listener = listener;
+            this.index = 0;
+
+            sequencedInputs.add(this);
+
+            // Indexes the sequence under each of its key codes
+            sequence(this);
+        }
+
+        /**
+         * Initializes a new SequenceEvent instance which completes when the keys are pressed in order.
+         *
+         * @param name     The name for the sequence event.
+         * @param window   The most time allowed between two presses, in milliseconds.
+         * @param listener The listener to be notified when the sequence completes.
+         * @param keys     The keys to press in order.
+         */
+        public SequenceEvent(String name, long window, IState listener, KeyboardEvent... keys) {
+            this(name, window, listener, keys, filled(keys.length, Type.Press));
+        }
+
+        /**
+         * Creates a sequence event which completes when the key is pressed twice within the window.
+         *
+         * @param key      The key to double-tap.
+         * @param window   The most time allowed between the two presses, in milliseconds.
+         * @param listener The listener to be notified when the double-tap completes.
+         * @return The new SequenceEvent.
+         */
+        public static SequenceEvent doubleTap(KeyboardEvent key, long window, IState listener) {
+            return new SequenceEvent(key.name + "_double_tap", window, listener, key, key);
+        }
+
+        /**
+         * Creates a sequence event which completes when the key is tapped and then pressed and held.
+         * The window has to cover the operating system's key repeat delay, since that is when the
+         * Hold state arrives.
+         *
+         * @param key      The key to tap and then hold.
+         * @param window   The most time allowed between two steps, in milliseconds.
+         * @param listener The listener to be notified with the Hold state when the sequence completes.
+         * @return The new SequenceEvent.
+         */
+        public static SequenceEvent tapThenHold(KeyboardEvent key, long window, IState listener) {
+            return new SequenceEvent(key.name + "_tap_hold", window, listener,
+                    new KeyboardEvent[] { key, key, key }, new Type[] { Type.Press, Type.Press, Type.Hold });
+        }
+
+        /**
+         * Advances the state machine with a key event.
+         *
+         * @param keyCode  The key code associated with the event.
+         * @param newState The new state of the key.
+         * @param now      The time of the event, from {@link System#nanoTime()}.
+         * @param presses  The number of presses of any key so far, including this event.
+         */
+        public void advance(int keyCode, Type newState, long now, long presses) {
+            long expected = this.lastPress + (newState.equals(Type.Press) ? 1 : 0);
+
+            if (this.index > 0 && (now - this.deadline > 0 || presses != expected)) {
+                // Too much time has passed since the last step, or another key was pressed in between.
+                this.index = 0;
+            }
+
+            if (this.matches(this.index, keyCode, newState)) {
+                this.index++;
+                this.deadline = now + this.window;
+                this.lastPress = presses;
+
+                if (this.index == this.keys.length) {
+                    this.index = 0;
+
+                    if (this.listener != null) {
+                        listen(this.name, this.listener, newState);
+                    }
+                }
+            } else if (newState.equals(Type.Press)) {
+                // Any other press breaks the sequence, but may start it over.
+                this.index = this.matches(0, keyCode, newState) ? 1 : 0;
+                this.deadline = now + this.window;
+                this.lastPress = presses;
+            }
+        }
+
+        /**
+         * Checks if the key event matches the given step of the sequence.
+         *
+         * @param step     The index of the step.
+         * @param keyCode  The key code associated with the event.
+         * @param newState The new state of the key.
+         * @return true if the event matches the step, false otherwise.
+         */
+        private boolean matches(int step, int keyCode, Type newState) {
+            return this.keys[step].getKey() == keyCode && this.types[step].equals(newState);
+        }
+
+        /**
+         * Returns the keys of the sequence steps.
+         *
+         * @return The keys of the sequence steps.
+         */
+        public KeyboardEvent[] getKeys() {
+            return this.keys.clone();
+        }
+
+        /**
+         * Returns an array of the given length filled with the given key state.
+         *
+         * @param length The length of the array.
+         * @param type   The key state to fill with.
+         * @return The filled array.
+         */
+        private static Type[] filled(int length, Type type) {
+            Type[] types = new Type[length];
+            Arrays.fill(types, type);
+            return types;
+        }
+    }
+
+    /**
+     * Notifies the listener of a state change and records how long it took.
      *
-     * @return The map of key inputs.
+     * @param name     The name of the input event the listener belongs to.
+     * @param listener The listener to notify.
+     * @param state    The new state.
      */
-    public static  Map<Integer, KeyboardEvent> getKeyInputs() {
-        return (Map<Integer, KeyboardEvent>) keyInputs;
+    private static void listen(String name, IState listener, Type state) {
+        long start = System.nanoTime();
+
+        listener.listen(state);
+
+        Latency.recordListener(name, System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the key input dispatch table, indexed by key code.
+     *
+     * @return The key input dispatch table.
+     */
+    public static KeyboardEvent[][] getKeyInputs() {
+        return keyInputs;
+    }
+
+    /**
+     * Returns the KeyboardEvents subscribed to the given key code.
+     *
+     * @param keyCode The key code to look up.
+     * @return The KeyboardEvents for the key code, or an empty array if there are none or the key code is out of range.
+     */
+    public static KeyboardEvent[] getKeyInputs(int keyCode) {
+        KeyboardEvent[][] table = keyInputs;
+
+        if (keyCode < 0 || keyCode >= table.length) {
+            return NO_KEYS;
+        }
+
+        return table[keyCode];
+    }
+
+    /**
+     * Registers a KeyboardEvent and subscribes it to its key code.
+     *
+     * @param event The KeyboardEvent to register.
+     */
+    private static synchronized void register(KeyboardEvent event) {
+        registeredInputs.add(event);
+        keyInputs = insert(keyInputs, event.key, event);
+    }
+
+    /**
+     * Moves the KeyboardEvent from the subscribers of its old key code to those of its new key code.
+     *
+     * @param event  The KeyboardEvent being rebound.
+     * @param newKey The new key code of the event.
+     */
+    private static synchronized void rebind(KeyboardEvent event, int newKey) {
+        KeyboardEvent[][] table = remove(keyInputs, event.key, event);
+
+        event.key = newKey;
+        keyInputs = insert(table, newKey, event);
+
+        // Bindings and sequences which contain the key have to move with it
+        reindex();
+    }
+
+    /**
+     * Fills every slot of the table with the given empty array.
+     *
+     * @param table The table to fill.
+     * @param empty The empty array to place in each slot.
+     * @param <T>   The type of the elements.
+     * @return The filled table.
+     */
+    private static <T> T[][] fill(T[][] table, T[] empty) {
+        Arrays.fill(table, empty);
+        return table;
+    }
+
+    /**
+     * Returns a copy of the table with the element appended to the slot of the key code. The table
+     * and its slots are never modified in place, so dispatch can read them without locking.
+     *
+     * @param table   The table to copy.
+     * @param keyCode The key code of the slot.
+     * @param element The element to add.
+     * @param <T>     The type of the elements.
+     * @return The updated copy of the table, or the table itself if nothing changed.
+     */
+    private static <T> T[][] insert(T[][] table, int keyCode, T element) {
+        if (keyCode < 0 || keyCode >= table.length || ArrayUtils.contains(table[keyCode], element)) {
+            return table;
+        }
+
+        T[][] copy = table.clone();
+        copy[keyCode] = ArrayUtils.add(table[keyCode], element);
+
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the table with the element removed from the slot of the key code.
+     *
+     * @param table   The table to copy.
+     * @param keyCode The key code of the slot.
+     * @param element The element to remove.
+     * @param <T>     The type of the elements.
+     * @return The updated copy of the table, or the table itself if nothing changed.
+     */
+    private static <T> T[][] remove(T[][] table, int keyCode, T element) {
+        if (keyCode < 0 || keyCode >= table.length || !ArrayUtils.contains(table[keyCode], element)) {
+            return table;
+        }
+
+        T[][] copy = table.clone();
+        copy[keyCode] = ArrayUtils.removeElement(table[keyCode], element);
+
+        return copy;
+    }
+
+    /**
+     * Synchronizes every registered KeyboardEvent with the current key of its KeyMapping,
+     * moving it to its new dispatch slot if it has been rebound. This is called when the
+     * options are loaded or saved, so the per-keystroke path never has to check for rebinds.
+     */
+    public static void syncKeys() {
+        for (int i = 0, m = registeredInputs.size(); i < m; i++) {
+            KeyboardEvent event = registeredInputs.get(i);
+            int mapped = event.keymap.getKey().getValue();
+
+            if (mapped != event.key) {
+                rebind(event, mapped);
+            }
+        }
+
+        // Any key mapping may have changed, not only the Axius ones
+        clearKeyNames();
     }
 
     /**
@@ -385,17 +1009,288 @@ public class Input {
     }
 
     /**
-     * Returns the human-readable name of the key associated with the given key code.
+     * Checks if the key with the given key code is currently down. This reads the latest
+     * published snapshot, so it is safe to call from any thread.
+     *
+     * @param keyCode The key code to check.
+     * @return true if the key is pressed or held down, false otherwise.
+     */
+    public static boolean isDown(int keyCode) {
+        return snapshot.isDown(keyCode);
+    }
+
+    /**
+     * Returns the latest published snapshot of the keys which are down.
+     *
+     * @return The latest key state snapshot.
+     */
+    public static Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Records whether the key with the given key code is down in the bitset of pressed keys,
+     * publishing a new snapshot if that changed the state of the key.
+     *
+     * @param keyCode The key code to update.
+     * @param down    Whether the key is down.
+     */
+    public static void setDown(int keyCode, boolean down) {
+        if (keyCode < 0 || keyCode > Key.KEY_LAST) {
+            return;
+        }
+
+        long word = pressedKeys[keyCode >>> 6];
+        long updated = down ? word | (1L << keyCode) : word & ~(1L << keyCode);
+
+        if (updated != word) {
+            pressedKeys[keyCode >>> 6] = updated;
+            snapshot = new Snapshot(pressedKeys, snapshot.getSequence() + 1);
+        }
+    }
+
+    /**
+     * Represents an immutable snapshot of the keys which are down at one point in time. Snapshots
+     * are published by the client thread and can be read by any thread without locking.
+     */
+    public static final class Snapshot {
+        private final long[] down;
+        private final long sequence;
+        private final long time;
+
+        /**
+         * Initializes a new Snapshot instance from a copy of the given bitset of pressed keys.
+         *
+         * @param down     The bitset of pressed keys to copy.
+         * @param sequence The sequence number of the snapshot.
+         */
+        Snapshot(long[] down, long sequence) {
+            this.down = down.clone();
+            this.sequence = sequence;
+            this.time = System.nanoTime();
+        }
+
+        /**
+         * Checks if the key with the given key code was down when the snapshot was taken.
+         *
+         * @param keyCode The key code to check.
+         * @return true if the key was down, false otherwise.
+         */
+        public boolean isDown(int keyCode) {
+            if (keyCode < 0 || keyCode > Key.KEY_LAST) {
+                return false;
+            }
+
+            return (this.down[keyCode >>> 6] & (1L << keyCode)) != 0;
+        }
+
+        /**
+         * Returns the sequence number of the snapshot, which increases with every key transition.
+         *
+         * @return The sequence number.
+         */
+        public long getSequence() {
+            return this.sequence;
+        }
+
+        /**
+         * Returns when the snapshot was taken, from the same monotonic clock as {@link System#nanoTime()}.
+         *
+         * @return The snapshot time in nanoseconds.
+         */
+        public long getTime() {
+            return this.time;
+        }
+    }
+
+    /**
+     * Returns the key bindings that contain the given key code.
+     *
+     * @param keyCode The key code to look up.
+     * @return The key bindings containing the key code, or an empty array if there are none.
+     */
+    public static KeyBindingEvent[] getBindingInputs(int keyCode) {
+        KeyBindingEvent[][] table = bindingInputs;
+
+        if (keyCode < 0 || keyCode >= table.length) {
+            return NO_BINDINGS;
+        }
+
+        return table[keyCode];
+    }
+
+    /**
+     * Adds the key binding to the index slot of each of its keys.
+     *
+     * @param binding The key binding to index.
+     */
+    private static synchronized void index(KeyBindingEvent binding) {
+        bindingInputs = index(bindingInputs, binding);
+    }
+
+    /**
+     * Returns a copy of the binding index with the key binding added to the slot of each of its keys.
+     *
+     * @param table   The binding index to copy.
+     * @param binding The key binding to index.
+     * @return The updated copy of the binding index.
+     */
+    private static KeyBindingEvent[][] index(KeyBindingEvent[][] table, KeyBindingEvent binding) {
+        ArrayList<KeyboardEvent> keys = binding.getKeys();
+        binding.updateMask();
+
+        for (int i = 0, m = keys.size(); i < m; i++) {
+            table = insert(table, keys.get(i).getKey(), binding);
+        }
+
+        return table;
+    }
+
+    /**
+     * Rebuilds the key binding and sequence indices from scratch, used after a key has been rebound.
+     */
+    private static synchronized void reindex() {
+        KeyBindingEvent[][] table = fill(new KeyBindingEvent[Key.KEY_LAST + 1][], NO_BINDINGS);
+
+        for (int i = 0, m = bindedInputs.size(); i < m; i++) {
+            table = index(table, bindedInputs.get(i));
+        }
+
+        bindingInputs = table;
+
+        SequenceEvent[][] sequences = fill(new SequenceEvent[Key.KEY_LAST + 1][], NO_SEQUENCES);
+
+        for (int i = 0, m = sequencedInputs.size(); i < m; i++) {
+            sequences = sequence(sequences, sequencedInputs.get(i));
+        }
+
+        sequenceInputs = sequences;
+    }
+
+    /**
+     * Returns the sequence events that contain the given key code.
+     *
+     * @param keyCode The key code to look up.
+     * @return The sequence events containing the key code, or an empty array if there are none.
+     */
+    public static SequenceEvent[] getSequenceInputs(int keyCode) {
+        SequenceEvent[][] table = sequenceInputs;
+
+        if (keyCode < 0 || keyCode >= table.length) {
+            return NO_SEQUENCES;
+        }
+
+        return table[keyCode];
+    }
+
+    /**
+     * Adds the sequence event to the index slot of each of its keys.
+     *
+     * @param sequence The sequence event to index.
+     */
+    private static synchronized void sequence(SequenceEvent sequence) {
+        sequenceInputs = sequence(sequenceInputs, sequence);
+    }
+
+    /**
+     * Returns a copy of the sequence index with the sequence event added to the slot of each of its keys.
+     *
+     * @param table    The sequence index to copy.
+     * @param sequence The sequence event to index.
+     * @return The updated copy of the sequence index.
+     */
+    private static SequenceEvent[][] sequence(SequenceEvent[][] table, SequenceEvent sequence) {
+        for (KeyboardEvent key : sequence.keys) {
+            table = insert(table, key.getKey(), sequence);
+        }
+
+        return table;
+    }
+
+    /**
+     * Returns the gamepad events subscribed to the given control of the given joystick.
+     *
+     * @param joystick The joystick identifier.
+     * @param control  The control identifier.
+     * @return The gamepad events for the control, or an empty array if there are none.
+     */
+    public static GamepadEvent[] getGamepadInputs(int joystick, int control) {
+        GamepadEvent[][] table = gamepadInputs;
+        int slot = joystick * GamepadEvent.CONTROLS + control;
+
+        if (control < 0 || control >= GamepadEvent.CONTROLS || slot < 0 || slot >= table.length) {
+            return NO_GAMEPADS;
+        }
+
+        return table[slot];
+    }
+
+    /**
+     * Returns the number of registered gamepad events, so polling can be skipped entirely when there are none.
+     *
+     * @return The number of registered gamepad events.
+     */
+    public static int getGamepadCount() {
+        return gamepadCount;
+    }
+
+    /**
+     * Subscribes the gamepad event to its joystick control.
+     *
+     * @param event The gamepad event to register.
+     */
+    private static synchronized void gamepad(GamepadEvent event) {
+        gamepadInputs = insert(gamepadInputs, event.joystick * GamepadEvent.CONTROLS + event.control, event);
+        gamepadCount++;
+    }
+
+    /**
+     * Returns the human-readable name of the key associated with the given key code. Names are
+     * looked up once per key code and cached until the key mappings or the language change.
      *
      * @param keyCode The key code for which to retrieve the name.
      * @return The name of the key.
      */
     public static String getKeyName(int keyCode) {
-        Optional<KeyMapping> optionalMapping = Arrays.stream(Minecraft.getInstance().options.keyMappings)
-                .filter(mapping -> mapping.getKey().getValue() == keyCode)
-                .findFirst();
+        String[] names = keyNames;
+
+        if (keyCode < 0 || keyCode >= names.length) {
+            return lookupKeyName(keyCode);
+        }
+
+        String name = names[keyCode];
+
+        if (name == null) {
+            name = lookupKeyName(keyCode);
+            names[keyCode] = name;
+        }
+
+        return name;
+    }
+
+    /**
+     * Clears the cached key names so they are looked up again on next use, along with the
+     * cached tooltip lines that may contain them.
+     */
+    public static void clearKeyNames() {
+        keyNames = new String[Key.KEY_LAST + 1];
+        ToolTip.invalidateAll();
+    }
+
+    /**
+     * Looks up the human-readable name of the key from the registered key mappings.
+     *
+     * @param keyCode The key code for which to retrieve the name.
+     * @return The name of the key.
+     */
+    private static String lookupKeyName(int keyCode) {
+        for (KeyMapping mapping : Minecraft.getInstance().options.keyMappings) {
+            if (mapping.getKey().getValue() == keyCode) {
+                return mapping.getTranslatedKeyMessage().getString();
+            }
+        }
 
-        return optionalMapping.map(keyMapping -> keyMapping.getTranslatedKeyMessage().getString()).orElse("Unknown Key");
+        return "Unknown Key";
     }
 
     /**
@@ -1,26 +1,77 @@
 package com.axius.api;
 
+/**
+ * Contains classes related to item and enchantment handling.
+ */
+import com.axius.util.inventory.item.tool.Enchant;
+import com.axius.util.inventory.item.tool.EnchantSet;
+
 /**
  * Contains classes related to handling Forge events.
  */
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+/**
+ * Contains classes related to item and enchantment handling.
+ */
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.Enchantment;
+import org.apache.commons.lang3.ArrayUtils;
 
 
 /**
  * Contains classes related to handling collections and data structures.
  */
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 
 /**
  * A utility class for managing and interacting with custom tooltip events in a Minecraft mod.
+ * ToolTip owns a single Forge bus listener and dispatches each tooltip event only to the
+ * registered listeners whose item or enchantment matches the hovered stack.
+ * Listeners registered with a state key have the lines they add cached per stack, so hovering
+ * an unchanged item reuses the same components instead of building them every frame.
  */
 public class ToolTip {
 
-    // Map to store tooltip event listeners by name
-    private static final Map<String, IEvent> toolTipEvents = new HashMap<>();
+    // Maximum number of cached tooltip line lists
+    private static final int CACHE_SIZE = 256;
+
+    // Map to store tooltip event registrations by name
+    private static final Map<String, Registration> toolTipEvents = new HashMap<>();
+
+    // Indices of tooltip event registrations, rebuilt whenever a listener is added or removed
+    private static volatile Registration[] globalEvents = new Registration[0];
+    private static volatile Map<Item, Registration[]> itemEvents = new HashMap<>();
+    private static volatile Registration[][] enchantmentEvents = new Registration[0][];
+
+    // Least recently used cache of the lines added by cached listeners, guarded by its own lock since
+    // tooltips can also be built off the client thread, such as by recipe viewers indexing items
+    private static final Map<CacheKey, CacheEntry> lines = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // Reusable key for cache lookups, guarded by the cache's lock
+    private static final CacheKey probe = new CacheKey();
+
+    // Marks a tag hash that hasn't been computed yet
+    private static final long UNHASHED = Long.MIN_VALUE;
+
+    // Whether the dispatcher is subscribed to the Forge event bus
+    private static boolean subscribed = false;
 
     /**
      * Interface for defining custom tooltip event listeners.
@@ -35,16 +86,372 @@ public class ToolTip {
     }
 
     /**
-     * Constructor to create and register a new tooltip event listener.
+     * Interface for defining custom tooltip event listeners that read the stack's enchantments.
+     */
+    public interface IEnchantEvent {
+        /**
+         * Called when the custom tooltip event is triggered.
+         *
+         * @param event The tooltip event object containing relevant information.
+         * @param enchantments The enchantments on the stack, read once for every listener.
+         */
+        void listen(ItemTooltipEvent event, EnchantSet enchantments);
+    }
+
+    /**
+     * Interface for describing everything besides the stack itself that a listener's lines depend on.
+     * Listeners registered with a state key must only append lines to the end of the tooltip;
+     * lines inserted anywhere else are not cached.
+     */
+    public interface IStateKey {
+        /**
+         * Called before the listener to decide whether its cached lines can be reused.
+         *
+         * @param event The tooltip event object containing relevant information.
+         * @return A value that changes whenever the lines the listener adds would change.
+         */
+        int get(ItemTooltipEvent event);
+    }
+
+    /**
+     * A registered tooltip event listener and the item or enchantment it is keyed by.
+     *
+     * @param listener    The tooltip event listener.
+     * @param state       The state key of the listener's lines, or null if they are not cached.
+     * @param item        The item the listener is limited to, or null.
+     * @param enchantment The enchantment the listener is limited to, or null.
+     */
+    private record Registration(IEnchantEvent listener, IStateKey state, Item item, Enchantment enchantment) {}
+
+    /**
+     * Identifies the lines a cached listener added for a stack. Stacks are told apart by the
+     * hash of their tag, and the tag itself is compared on a hit, so the lines are rebuilt
+     * whenever the stack's NBT changes. Keys are mutable so lookups can reuse one instance;
+     * keys stored in the cache are never modified.
+     */
+    private static final class CacheKey {
+        private Item item;
+        private int tag;
+        private Registration provider;
+        private int state;
+
+        /**
+         * Sets the fields of the key.
+         *
+         * @param item     The item of the stack.
+         * @param tag      The hash of the stack's tag.
+         * @param provider The registration that added the lines.
+         * @param state    The listener's state key.
+         * @return This key.
+         */
+        private CacheKey set(Item item, int tag, Registration provider, int state) {
+            this.item = item;
+            this.tag = tag;
+            this.provider = provider;
+            this.state = state;
+
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CacheKey key && item == key.item && tag == key.tag && provider == key.provider && state == key.state;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((System.identityHashCode(item) * 31 + tag) * 31 + System.identityHashCode(provider)) * 31 + state;
+        }
+    }
+
+    /**
+     * The lines a cached listener added for a stack.
+     *
+     * @param source The stack's tag when the lines were added, compared by identity first.
+     * @param tag    A copy of the stack's tag when the lines were added, or null.
+     * @param lines  The lines the listener added.
+     */
+    private record CacheEntry(CompoundTag source, CompoundTag tag, List<Component> lines) {}
+
+    /**
+     * Constructor to create and register a new tooltip event listener for every item.
      *
      * @param name     The unique name for the tooltip event.
      * @param listener The custom event listener implementing the IEvent interface.
      */
     public ToolTip(String name, IEvent listener) {
+        register(name, new Registration((event, view) -> listener.listen(event), null, null, null));
+    }
+
+    /**
+     * Constructor to create and register a new cached tooltip event listener for every item.
+     *
+     * @param name     The unique name for the tooltip event.
+     * @param listener The custom event listener implementing the IEvent interface.
+     * @param state    The state key of the lines the listener adds.
+     */
+    public ToolTip(String name, IEvent listener, IStateKey state) {
+        register(name, new Registration((event, view) -> listener.listen(event), state, null, null));
+    }
+
+    /**
+     * Constructor to create and register a new tooltip event listener for a single item.
+     *
+     * @param name     The unique name for the tooltip event.
+     * @param item     The item whose tooltips the listener handles.
+     * @param listener The custom event listener implementing the IEvent interface.
+     */
+    public ToolTip(String name, Item item, IEvent listener) {
+        register(name, new Registration((event, view) -> listener.listen(event), null, item, null));
+    }
+
+    /**
+     * Constructor to create and register a new cached tooltip event listener for a single item.
+     *
+     * @param name     The unique name for the tooltip event.
+     * @param item     The item whose tooltips the listener handles.
+     * @param listener The custom event listener implementing the IEvent interface.
+     * @param state    The state key of the lines the listener adds.
+     */
+    public ToolTip(String name, Item item, IEvent listener, IStateKey state) {
+        register(name, new Registration((event, view) -> listener.listen(event), state, item, null));
+    }
+
+    /**
+     * Constructor to create and register a new tooltip event listener for items carrying an enchantment.
+     *
+     * @param name        The unique name for the tooltip event.
+     * @param enchantment The enchantment an item must carry for the listener to handle its tooltip.
+     * @param listener    The custom event listener implementing the IEnchantEvent interface.
+     */
+    public ToolTip(String name, Enchantment enchantment, IEnchantEvent listener) {
+        this(name, enchantment, listener, null);
+    }
+
+    /**
+     * Constructor to create and register a new cached tooltip event listener for items carrying an enchantment.
+     *
+     * @param name        The unique name for the tooltip event.
+     * @param enchantment The enchantment an item must carry for the listener to handle its tooltip.
+     * @param listener    The custom event listener implementing the IEnchantEvent interface.
+     * @param state       The state key of the lines the listener adds, or null if they are not cached.
+     */
+    public ToolTip(String name, Enchantment enchantment, IEnchantEvent listener, IStateKey state) {
+        register(name, new Registration(listener, state, null, enchantment));
+    }
+
+    /**
+     * Registers a tooltip event listener and subscribes the dispatcher if it isn't yet.
+     *
+     * @param name         The unique name for the tooltip event.
+     * @param registration The listener and its key.
+     */
+    private static synchronized void register(String name, Registration registration) {
         assert toolTipEvents.get(name) == null : "Error tooltip event already exists.";
 
-        toolTipEvents.putIfAbsent(name, listener);
-        MinecraftForge.EVENT_BUS.addListener(listener::listen);
+        toolTipEvents.putIfAbsent(name, registration);
+        rebuild();
+
+        if (!subscribed) {
+            MinecraftForge.EVENT_BUS.register(ToolTip.class);
+            subscribed = true;
+        }
+    }
+
+    /**
+     * Rebuilds the listener indices after the enchantment registry's numeric ids may have changed,
+     * such as when registries are synced on joining a server.
+     */
+    public static synchronized void reindex() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the listener indices from the registrations. Dispatch reads the indices without
+     * locking, so they are replaced rather than modified. Enchantment-keyed listeners are indexed
+     * by the enchantment's numeric registry id.
+     */
+    private static void rebuild() {
+        Registration[] global = new Registration[0];
+        Map<Item, Registration[]> items = new HashMap<>();
+        Registration[][] enchantments = new Registration[0][];
+
+        for (Registration registration : toolTipEvents.values()) {
+            if (registration.item() != null) {
+                items.merge(registration.item(), new Registration[] { registration }, ArrayUtils::addAll);
+            } else if (registration.enchantment() != null) {
+                int id = Enchant.getNumericId(registration.enchantment());
+
+                if (id < 0) {
+                    continue; // Not registered
+                }
+
+                if (id >= enchantments.length) {
+                    enchantments = Arrays.copyOf(enchantments, id + 1);
+                }
+
+                enchantments[id] = enchantments[id] == null ? new Registration[] { registration } : ArrayUtils.add(enchantments[id], registration);
+            } else {
+                global = ArrayUtils.add(global, registration);
+            }
+        }
+
+        globalEvents = global;
+        itemEvents = items;
+        enchantmentEvents = enchantments;
+    }
+
+    /**
+     * Dispatches a tooltip event to the listeners registered for every item, for the hovered
+     * item, and for each enchantment on the hovered stack. The stack's enchantments are parsed
+     * once and shared by every listener.
+     *
+     * @param event The tooltip event.
+     */
+    @SubscribeEvent
+    public static void dispatch(ItemTooltipEvent event) {
+        ItemStack stack = event.getItemStack();
+        EnchantSet view = EnchantSet.of(stack);
+
+        long hash = UNHASHED;
+
+        for (Registration registration : globalEvents) {
+            hash = listen(registration, event, view, hash);
+        }
+
+        Registration[] items = itemEvents.get(stack.getItem());
+
+        if (items != null) {
+            for (Registration registration : items) {
+                hash = listen(registration, event, view, hash);
+            }
+        }
+
+        Registration[][] enchantments = enchantmentEvents;
+
+        if (enchantments.length == 0) {
+            return;
+        }
+
+        for (int i = 0, m = view.size(); i < m; i++) {
+            int id = view.getNumericId(i);
+            Registration[] registrations = id < enchantments.length ? enchantments[id] : null;
+
+            if (registrations != null) {
+                for (Registration registration : registrations) {
+                    hash = listen(registration, event, view, hash);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls a registered listener, or re-adds the lines it added for the same stack and state.
+     * The hash of the stack's tag is only computed once a cached listener needs it, and is then
+     * passed on to the next listeners of the same event.
+     *
+     * @param registration The registration of the listener.
+     * @param event        The tooltip event.
+     * @param view         The enchantments on the hovered stack.
+     * @param hash         The hash of the hovered stack's tag, or UNHASHED if not computed yet.
+     * @return The hash of the hovered stack's tag, or UNHASHED if still not computed.
+     */
+    private static long listen(Registration registration, ItemTooltipEvent event, EnchantSet view, long hash) {
+        if (registration.state() == null) {
+            registration.listener().listen(event, view);
+
+            return hash;
+        }
+
+        List<Component> toolTip = event.getToolTip();
+        Item item = event.getItemStack().getItem();
+        CompoundTag tag = event.getItemStack().getTag();
+
+        if (hash == UNHASHED) {
+            hash = tag == null ? 0 : tag.hashCode();
+        }
+
+        int state = registration.state().get(event);
+        CacheEntry cached;
+
+        synchronized (lines) {
+            cached = lines.get(probe.set(item, (int) hash, registration, state));
+        }
+
+        if (cached != null && (cached.source() == tag || Objects.equals(cached.tag(), tag))) {
+            toolTip.addAll(cached.lines());
+
+            return hash;
+        }
+
+        // Kept to check that the listener only appended lines
+        Component[] before = toolTip.toArray(new Component[0]);
+
+        registration.listener().listen(event, view);
+
+        CacheKey key = new CacheKey().set(item, (int) hash, registration, state);
+
+        if (!isAppended(before, toolTip)) {
+            synchronized (lines) {
+                lines.remove(key);
+            }
+
+            return hash;
+        }
+
+        CacheEntry entry = new CacheEntry(tag, tag == null ? null : tag.copy(), List.copyOf(toolTip.subList(before.length, toolTip.size())));
+
+        synchronized (lines) {
+            lines.put(key, entry);
+        }
+
+        return hash;
+    }
+
+    /**
+     * Checks that the tooltip still starts with the same lines it had before a listener ran.
+     *
+     * @param before  The lines before the listener ran.
+     * @param toolTip The lines after the listener ran.
+     * @return True if the listener only appended lines, false otherwise.
+     */
+    private static boolean isAppended(Component[] before, List<Component> toolTip) {
+        if (toolTip.size() < before.length) {
+            return false;
+        }
+
+        for (int i = 0; i < before.length; i++) {
+            if (toolTip.get(i) != before[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Discards the cached lines of a tooltip event listener, for when they changed without
+     * the stack or its state key changing.
+     *
+     * @param name The name of the tooltip event listener.
+     */
+    public void invalidate(String name) {
+        Registration registration = toolTipEvents.get(name);
+
+        if (registration != null) {
+            synchronized (lines) {
+                lines.keySet().removeIf(key -> key.provider == registration);
+            }
+        }
+    }
+
+    /**
+     * Discards the cached lines of every tooltip event listener.
+     */
+    public static void invalidateAll() {
+        synchronized (lines) {
+            lines.clear();
+        }
     }
 
     /**
@@ -54,7 +461,9 @@ public class ToolTip {
      * @return The tooltip event listener (IEvent) or null if not found.
      */
     public IEvent get(String name) {
-        return toolTipEvents.get(name);
+        Registration registration = toolTipEvents.get(name);
+
+        return registration == null ? null : event -> registration.listener().listen(event, EnchantSet.of(event.getItemStack()));
     }
 
     /**
@@ -63,10 +472,15 @@ public class ToolTip {
      * @param name The name of the tooltip event listener to be removed.
      */
     public void remove(String name) {
-        IEvent removedEvent = toolTipEvents.remove(name);
+        synchronized (ToolTip.class) {
+            Registration registration = toolTipEvents.remove(name);
 
-        if (removedEvent != null) {
-            MinecraftForge.EVENT_BUS.unregister(removedEvent);
+            if (registration != null) {
+                synchronized (lines) {
+                    lines.keySet().removeIf(key -> key.provider == registration);
+                }
+                rebuild();
+            }
         }
     }
 
@@ -94,7 +508,15 @@ public class ToolTip {
      * This should be called when cleaning up or shutting down the mod.
      */
     public void clearAll() {
-        toolTipEvents.clear();
-        MinecraftForge.EVENT_BUS.unregister(ToolTip.class); // Unregister the whole class
+        synchronized (ToolTip.class) {
+            toolTipEvents.clear();
+            invalidateAll();
+            rebuild();
+
+            if (subscribed) {
+                MinecraftForge.EVENT_BUS.unregister(ToolTip.class); // Unregister the whole class
+                subscribed = false;
+            }
+        }
     }
 }
@@ -5,7 +5,10 @@ package com.axius.controller;
  */
 import com.axius.api.Config;
 import com.axius.api.Input;
+import com.axius.api.ToolTip;
 import com.axius.packages.keybindings.toggles.ToggleEnchant;
+import com.axius.util.inventory.item.tool.EnchantApplicability;
+import com.axius.util.inventory.item.tool.EnchantCompatibility;
 import net.minecraft.world.item.enchantment.Enchantments;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
@@ -26,6 +29,8 @@ import net.minecraft.world.entity.player.Player;
 import com.axius.server.PacketHandler;
 import net.minecraftforge.client.event.InputEvent;
 import net.minecraftforge.event.ServerChatEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.event.server.ServerStartingEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -33,8 +38,8 @@ import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.common.MinecraftForge;
 import org.slf4j.Logger;
 
-import static com.axius.util.input.Update.bindingState;
-import static com.axius.util.input.Update.keyState;
+import static com.axius.util.input.Update.dispatch;
+import static com.axius.util.input.Update.tick;
 
 
 /**
@@ -102,7 +107,7 @@ public class Axius {
      */
     private void InitializeToggles() {
         // Enchants:
-        ToggleEnchant Silk_touch = new ToggleEnchant(Enchantments.SILK_TOUCH, 20, Input.Key.KEY_LEFT_SHIFT);
+        ToggleEnchant Silk_touch = new ToggleEnchant(Enchantments.SILK_TOUCH, 1000, Input.Key.KEY_LEFT_SHIFT);
     }
 
     /**
@@ -133,6 +138,30 @@ public class Axius {
     private void commonSetup(final FMLCommonSetupEvent event) {
         // Some common setup code
         LOGGER.info("HELLO FROM COMMON SETUP");
+
+        // Registries are frozen by now; built on the main thread since it calls into other mods
+        event.enqueueWork(() -> {
+            EnchantCompatibility.build();
+            EnchantApplicability.build();
+        });
+    }
+
+    /**
+     * Event handler for tags being updated. Only the client's update, which follows the registry
+     * sync on joining a server, can change numeric registry ids; the server's own update on
+     * datapack reload would otherwise rebuild the same indices a second time, on another thread.
+     *
+     * @param event The TagsUpdatedEvent.
+     */
+    @SubscribeEvent
+    public void onTagsUpdated(TagsUpdatedEvent event) {
+        if (event.getUpdateCause() != TagsUpdatedEvent.UpdateCause.CLIENT_PACKET_RECEIVED) {
+            return;
+        }
+
+        ToolTip.reindex();
+        EnchantCompatibility.build();
+        EnchantApplicability.build();
     }
 
     /**
@@ -198,7 +227,18 @@ public class Axius {
                 return;
         }
 
-        keyState(Input.getKeyInputs(), keyCode, state);
-        bindingState(Input.getbindedInputs(), keyCode, state);
+        dispatch(keyCode, state);
+    }
+
+    /**
+     * This method handles the client tick, delivering tick-coalesced key transitions.
+     *
+     * @param event The client tick event.
+     */
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            tick();
+        }
     }
 }
@@ -0,0 +1,44 @@
+package com.axius.mixins.client;
+
+/**
+ * Contains classes related to APIs and input handling.
+ */
+import com.axius.api.Input;
+import net.minecraft.client.Options;
+
+/**
+ * Contains classes related to mixin transformations.
+ */
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+
+/**
+ * This mixin class pushes key mapping changes from the Options class into the Input indices.
+ */
+@Mixin(Options.class)
+public abstract class OptionsMixin {
+
+    /**
+     * Synchronizes the Input indices once the options have been loaded from disk.
+     *
+     * @param callback The callback information.
+     */
+    @Inject(method = "load", at = @At("TAIL"))
+    private void onLoad(CallbackInfo callback) {
+        Input.syncKeys();
+    }
+
+    /**
+     * Synchronizes the Input indices whenever the options are saved, which is when the
+     * controls screen commits a rebound or reset key.
+     *
+     * @param callback The callback information.
+     */
+    @Inject(method = "save", at = @At("TAIL"))
+    private void onSave(CallbackInfo callback) {
+        Input.syncKeys();
+    }
+}
@@ -7,6 +7,7 @@ import com.axius.api.Input;
 import com.axius.api.ToolTip;
 import com.axius.util.GradientConstructor;
 import com.axius.util.inventory.item.tool.Enchant;
+import com.axius.util.inventory.item.tool.EnchantSet;
 
 /**
  * Contains classes related to the Minecraft game client.
@@ -14,6 +15,7 @@ import com.axius.util.inventory.item.tool.Enchant;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
+import net.minecraft.world.inventory.Slot;
 
 /**
  * Contains classes related to text components and item manipulation.
@@ -21,6 +23,8 @@ import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 
 /**
@@ -33,65 +37,135 @@ import java.util.List;
  * It displays a gradient-based visual representation of the toggle state in the item tooltip.
  */
 public class ToggleEnchant {
+    // Number of stars in the toggle gradient
+    private static final int STARS = 10;
+
+    // Toggle gradient for every fill level, indexed by whether the enchantment is enabled
+    private static final Component[][] FRAMES = { buildFrames(false), buildFrames(true) };
+
     private final Input.KeyboardEvent toggleKeybinding;
     String UUID;
     private final int delay;
     private final Enchantment enchantment;
     private boolean allowedToggle, isToggled;
-    private int delayCounter, toggleCounter;
+
+    // Slot being held over, and when holding over it started, in nanoseconds
+    private Slot hoveredSlot;
+    private long hoverStart;
 
     /**
      * Constructs a ToggleEnchant object with the specified enchantment, delay, and keybinding.
      *
      * @param enchantment The enchantment to be toggled.
-     * @param delay       The delay between consecutive toggles.
+     * @param delay       How long the keybinding has to be held to toggle, in milliseconds.
      * @param keybinding  The keybinding to activate the toggle.
      */
     public ToggleEnchant(Enchantment enchantment, int delay, int keybinding) {
         this.UUID = Enchant.getName(enchantment) + "_tooltip";
 
-        ToolTip tooltip = new ToolTip(this.UUID, this::tooltipEvent);
+        ToolTip tooltip = new ToolTip(this.UUID, enchantment, this::tooltipEvent, this::tooltipState);
         this.toggleKeybinding = new Input.KeyboardEvent(this.UUID, keybinding);
 
         this.delay = delay;
         this.isToggled = false;
         this.allowedToggle = true;
         this.enchantment = enchantment;
+
+        // Subscribe to the client tick event, which performs the toggle itself
+        MinecraftForge.EVENT_BUS.addListener(this::tickEvent);
     }
 
     /**
-     * Handles the tooltip event for the toggled enchantment.
+     * Handles the client tick event, toggling the enchantment on the hovered item once the
+     * keybinding has been held over it for the full delay. The hold time restarts whenever the
+     * hovered slot changes or no longer holds an item with the enchantment.
      *
-     * @param event The tooltip event triggered when hovering over an item.
+     * @param event The client tick event.
      */
-    private void tooltipEvent(ItemTooltipEvent event) {
-        if ((!this.allowedToggle) || (!(Minecraft.getInstance().screen instanceof AbstractContainerScreen) || Minecraft.getInstance().level == null) || (!event.getItemStack().isEnchanted() || !Enchant.contains(event.getItemStack(), this.enchantment))) {
+    private void tickEvent(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
             return;
         }
 
-        List<Component> toolTip = event.getToolTip();
-        ItemStack itemStack = event.getItemStack();
+        if (!toggleKeybinding.isDown()) {
+            this.isToggled = false; // Resets once the keybinding is released
+            this.hoveredSlot = null;
 
-        int enchantLevel = Enchant.getEnchantmentLevel(itemStack, this.enchantment);
-        boolean isEnabled = enchantLevel > 0;
+            return;
+        }
 
-        if (toggleKeybinding.isHolding() && !this.isToggled) {
-            if (this.delayCounter <= this.delay) {
-                delayCounter++;
+        if (!(Minecraft.getInstance().screen instanceof AbstractContainerScreen<?> screen) || Minecraft.getInstance().level == null) {
+            this.hoveredSlot = null;
 
-                this.isToggled = this.renderToggle(toolTip, itemStack, isEnabled);
+            return;
+        }
 
-                return;
-            }
+        Slot slot = screen.getSlotUnderMouse();
 
-            delayCounter = 0; // Resets the delay
-            toggleCounter++; // Increment the counter
+        if (slot == null || !slot.hasItem() || !slot.getItem().isEnchanted() || !Enchant.contains(slot.getItem(), this.enchantment)) {
+            this.hoveredSlot = null;
 
-            this.isToggled = this.renderToggle(toolTip, itemStack, isEnabled);
-        } else {
-            toggleCounter = 0; // Resets the toggle count
-            isToggled = toggleKeybinding.isHolding();
+            return;
+        }
+
+        if (slot != this.hoveredSlot) {
+            this.hoveredSlot = slot;
+            this.hoverStart = System.nanoTime();
+        }
+
+        if (!this.allowedToggle || this.isToggled || this.getHoverTime() < this.delay) {
+            return;
+        }
+
+        ItemStack itemStack = slot.getItem();
+
+        boolean isEnabled = Enchant.getEnchantmentLevel(itemStack, this.enchantment) > 0;
+        int toggleLevel = isEnabled ? -1 : 1;
+
+        Enchant.modify(itemStack, this.enchantment, toggleLevel);
+
+        this.isToggled = true;
+    }
+
+    /**
+     * Returns the state the tooltip lines depend on besides the item itself: nothing when no
+     * lines are shown, the fill level while the toggle is being held, and otherwise the key shown
+     * in the status line.
+     *
+     * @param event The tooltip event triggered when hovering over an item.
+     * @return The state key of the tooltip lines.
+     */
+    private int tooltipState(ItemTooltipEvent event) {
+        if ((!this.allowedToggle) || (!(Minecraft.getInstance().screen instanceof AbstractContainerScreen) || Minecraft.getInstance().level == null)) {
+            return 0;
+        }
 
+        if (toggleKeybinding.isDown() && !this.isToggled) {
+            return 1 + this.getFill();
+        }
+
+        return -1 - toggleKeybinding.getKey();
+    }
+
+    /**
+     * Handles the tooltip event for the toggled enchantment. Only called for items carrying the enchantment.
+     *
+     * @param event The tooltip event triggered when hovering over an item.
+     * @param view  The enchantments on the hovered item.
+     */
+    private void tooltipEvent(ItemTooltipEvent event, EnchantSet view) {
+        if ((!this.allowedToggle) || (!(Minecraft.getInstance().screen instanceof AbstractContainerScreen) || Minecraft.getInstance().level == null) || !event.getItemStack().isEnchanted()) {
+            return;
+        }
+
+        List<Component> toolTip = event.getToolTip();
+
+        int enchantLevel = view.getLevel(this.enchantment);
+        boolean isEnabled = enchantLevel > 0;
+
+        if (toggleKeybinding.isDown() && !this.isToggled) {
+            this.renderToggle(toolTip, isEnabled);
+        } else {
             String status = isEnabled ? "Enabled" : "Disabled";
             ChatFormatting statusColor = isEnabled ? ChatFormatting.GREEN : ChatFormatting.DARK_RED;
 
@@ -107,40 +181,59 @@ public class ToggleEnchant {
     }
 
     /**
-     * Renders the toggle gradient in the tooltip and performs the enchantment toggling.
+     * Renders the toggle gradient in the tooltip, filled by how long the keybinding has been held.
      *
      * @param toolTip    The list of tooltip components.
-     * @param itemStack  The item stack being hovered over.
      * @param isEnabled  Whether the enchantment is currently enabled.
-     * @return True if the toggle has been executed, false otherwise.
      */
-    private boolean renderToggle(List<Component> toolTip, ItemStack itemStack, boolean isEnabled) {
-        int max = (int) ((toggleCounter / (double) delay) * 10);
-
-        int[] greenColor = {0, 255, 0};
-        int[] yellowColor = {255, 255, 0};
-        int[] redColor = {255, 0, 0};
+    private void renderToggle(List<Component> toolTip, boolean isEnabled) {
+        toolTip.add(FRAMES[isEnabled ? 1 : 0][this.getFill()]);
+    }
 
-        int[] startColor = isEnabled ? greenColor : redColor;
-        int[] endColor = isEnabled ? redColor : greenColor;
+    /**
+     * Returns how much of the toggle gradient is filled by how long the keybinding has been held over the hovered slot.
+     *
+     * @return The fill level, from 0 to 10.
+     */
+    private int getFill() {
+        return (int) Math.min(STARS, (this.getHoverTime() * STARS) / Math.max(1, this.delay));
+    }
 
-        String gradientText = GradientConstructor.createGradient("✮".repeat(Math.min(max, 10)),
-                startColor, yellowColor, endColor);
+    /**
+     * Returns how long the keybinding has been held over the hovered slot.
+     *
+     * @return The hold time in milliseconds, or 0 if no slot is being held over.
+     */
+    private long getHoverTime() {
+        return this.hoveredSlot == null ? 0 : (System.nanoTime() - this.hoverStart) / 1_000_000L;
+    }
 
-        String darkGrayPart = ChatFormatting.DARK_GRAY.toString();
-        String finalGradientText = gradientText + darkGrayPart +
-                "✮".repeat(Math.max(0, 10 - max));
+    /**
+     * Builds the toggle gradient for every fill level. The gradient runs from the current state's
+     * colour to the toggled state's colour, with the unfilled stars in dark gray.
+     *
+     * @param isEnabled Whether the enchantment is currently enabled.
+     * @return The toggle gradients, indexed by fill level.
+     */
+    private static Component[] buildFrames(boolean isEnabled) {
+        int greenColor = 0x00FF00;
+        int yellowColor = 0xFFFF00;
+        int redColor = 0xFF0000;
 
-        toolTip.add(Component.literal(finalGradientText));
+        int startColor = isEnabled ? greenColor : redColor;
+        int endColor = isEnabled ? redColor : greenColor;
 
-        if (this.toggleCounter >= this.delay) {
-            int toggleLevel = isEnabled ? -1 : 1;
+        Component[] frames = new Component[STARS + 1];
 
-            Enchant.modify(itemStack, this.enchantment, toggleLevel);
+        for (int max = 0; max <= STARS; max++) {
+            Component gradient = GradientConstructor.createGradientComponent("✮".repeat(max),
+                    startColor, yellowColor, endColor);
 
-            return true;
+            frames[max] = Component.empty()
+                    .append(gradient)
+                    .append(Component.literal("✮".repeat(STARS - max)).withStyle(ChatFormatting.DARK_GRAY));
         }
 
-        return false;
+        return frames;
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ package com.axius.server.packets.inventory.item.tool;
  */
 import com.axius.controller.Axius;
 import com.axius.server.IPacket;
+import com.axius.util.inventory.item.tool.EnchantSet;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.network.NetworkEvent;
 
@@ -20,8 +21,6 @@ import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.Enchantment;
-import net.minecraft.world.item.enchantment.EnchantmentHelper;
-import java.util.Map;
 
 /**
  * Represents a packet for sending enchantment-related information between server and client.
@@ -97,18 +96,21 @@ public class EnchantPacket implements IPacket {
 
         int slot = player.getInventory().findSlotMatchingItem(this.item);
         Enchantment enchantment = ForgeRegistries.ENCHANTMENTS.getValue(this.id);
-        Map<Enchantment, Integer> enchantments = EnchantmentHelper.getEnchantments(this.item);
+
+        if (enchantment == null) {
+            return; // Unknown enchantment id
+        }
+
+        EnchantSet enchantments = EnchantSet.of(this.item);
 
         if (slot != -1) {
             switch (this.operation) {
                 case ADD -> enchantments.putIfAbsent(enchantment, this.level);
                 case REMOVE -> enchantments.remove(enchantment);
-                case MODIFY -> enchantments.computeIfPresent(enchantment, (existingEnchantment, existingLevel) -> {
-                    return this.level;
-                });
+                case MODIFY -> enchantments.replace(enchantment, this.level);
             }
 
-            EnchantmentHelper.setEnchantments(enchantments, player.getInventory().getItem(slot));
+            enchantments.writeTo(player.getInventory().getItem(slot));
             context.setPacketHandled(true);
         }
     }
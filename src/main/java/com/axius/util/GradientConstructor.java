@@ -1,63 +1,182 @@
 package com.axius.util;
 
 import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.network.chat.Style;
+import net.minecraft.network.chat.TextColor;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class GradientConstructor {
-    public static String createGradient(String text, int[] color1, int[] color2, int[] color3) {
-        StringBuilder gradientBuilder = new StringBuilder();
+    // Maximum number of memoized gradient components
+    private static final int CACHE_SIZE = 128;
+
+    // Least recently used memo of gradient components by text and colour stops
+    private static final Map<GradientKey, Component> gradients = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<GradientKey, Component> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
 
+    // Legacy colour formats, indexed by the lookup table
+    private static final ChatFormatting[] COLORS = buildColors();
+
+    // Closest colour format for each RGB colour quantized to 5 bits per channel
+    private static final byte[] CLOSEST = buildClosest();
+
+    public static String createGradient(String text, int[] color1, int[] color2, int[] color3) {
         int steps = text.length();
+        StringBuilder gradientBuilder = new StringBuilder(steps * 3);
 
         for (int i = 0; i < steps; i++) {
-            double progress = (double) i / (steps - 1);
-            int[] interpolatedColor = interpolateColor(color1, color2, color3, progress);
-            gradientBuilder.append(ChatFormatting.getByCode(getClosestColorCode(interpolatedColor))).append(text.charAt(i));
+            double progress = steps > 1 ? (double) i / (steps - 1) : 0.0;
+
+            int r = interpolateChannel(color1[0], color2[0], color3[0], progress);
+            int g = interpolateChannel(color1[1], color2[1], color3[1], progress);
+            int b = interpolateChannel(color1[2], color2[2], color3[2], progress);
+
+            gradientBuilder.append(getClosestColor(r, g, b)).append(text.charAt(i));
         }
 
         return gradientBuilder.toString();
     }
 
-    private static int[] interpolateColor(int[] color1, int[] color2, int[] color3, double progress) {
-        int interpolatedR = (int) (color1[0] + progress * (color2[0] - color1[0]));
-        int interpolatedG = (int) (color1[1] + progress * (color2[1] - color1[1]));
-        int interpolatedB = (int) (color1[2] + progress * (color2[2] - color1[2]));
+    /**
+     * Creates a component colouring each character of the text along an RGB gradient through the
+     * given colour stops, spaced evenly over the text. Components are memoized by text and stops,
+     * so the returned component is shared and must not be modified.
+     *
+     * @param text  The text to colour.
+     * @param stops The colour stops, as 0xRRGGBB values.
+     * @return The gradient component.
+     */
+    public static Component createGradientComponent(String text, int... stops) {
+        GradientKey key = new GradientKey(text, stops);
+
+        synchronized (gradients) {
+            Component gradient = gradients.get(key);
+
+            if (gradient == null) {
+                gradient = buildGradientComponent(text, stops);
+                gradients.put(new GradientKey(text, stops.clone()), gradient);
+            }
+
+            return gradient;
+        }
+    }
+
+    private static Component buildGradientComponent(String text, int[] stops) {
+        MutableComponent gradient = Component.empty();
+        int steps = text.length();
+
+        for (int i = 0; i < steps; i++) {
+            double position = steps > 1 && stops.length > 1 ? (double) i * (stops.length - 1) / (steps - 1) : 0.0;
+            int stop = Math.min((int) position, stops.length - 1);
+            int next = Math.min(stop + 1, stops.length - 1);
+            double progress = position - stop;
+
+            int r = lerpChannel(stops[stop] >> 16, stops[next] >> 16, progress);
+            int g = lerpChannel(stops[stop] >> 8, stops[next] >> 8, progress);
+            int b = lerpChannel(stops[stop], stops[next], progress);
+
+            gradient.append(Component.literal(String.valueOf(text.charAt(i)))
+                    .withStyle(Style.EMPTY.withColor(TextColor.fromRgb(r << 16 | g << 8 | b))));
+        }
+
+        return gradient;
+    }
+
+    private static int lerpChannel(int from, int to, double progress) {
+        from &= 0xFF;
+        to &= 0xFF;
+
+        return (int) Math.round(from + progress * (to - from));
+    }
+
+    private record GradientKey(String text, int[] stops) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof GradientKey key && text.equals(key.text) && Arrays.equals(stops, key.stops);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * text.hashCode() + Arrays.hashCode(stops);
+        }
+    }
+
+    private static int interpolateChannel(int channel1, int channel2, int channel3, double progress) {
+        int interpolated = (int) (channel1 + progress * (channel2 - channel1));
 
         if (progress > 0.5) {
             double innerProgress = (progress - 0.5) * 2.0;
-            interpolatedR += (int) (innerProgress * (color3[0] - color2[0]));
-            interpolatedG += (int) (innerProgress * (color3[1] - color2[1]));
-            interpolatedB += (int) (innerProgress * (color3[2] - color2[2]));
+            interpolated += (int) (innerProgress * (channel3 - channel2));
         }
 
-        return new int[] { interpolatedR, interpolatedG, interpolatedB };
+        return interpolated;
     }
 
-    private static char getClosestColorCode(int[] rgb) {
-        int minDistance = Integer.MAX_VALUE;
-        char closestCode = 'f'; // Default to white
+    private static ChatFormatting getClosestColor(int r, int g, int b) {
+        r = MathExtension.clamp(r, 0, 255);
+        g = MathExtension.clamp(g, 0, 255);
+        b = MathExtension.clamp(b, 0, 255);
+
+        return COLORS[CLOSEST[(r >> 3) << 10 | (g >> 3) << 5 | (b >> 3)]];
+    }
+
+    private static ChatFormatting[] buildColors() {
+        ChatFormatting[] colors = new ChatFormatting[16];
+        int size = 0;
 
         for (ChatFormatting chatFormat : ChatFormatting.values()) {
             if (chatFormat.isColor()) {
-                int[] colorRgb = { (chatFormat.getColor() >> 16) & 0xFF,
-                        (chatFormat.getColor() >> 8) & 0xFF,
-                        chatFormat.getColor() & 0xFF };
+                colors[size++] = chatFormat;
+            }
+        }
+
+        return colors;
+    }
+
+    private static byte[] buildClosest() {
+        byte[] closest = new byte[32 * 32 * 32];
+
+        for (int i = 0; i < closest.length; i++) {
+            // Centre of the quantized cell
+            int r = ((i >> 10) << 3) + 4;
+            int g = (((i >> 5) & 31) << 3) + 4;
+            int b = ((i & 31) << 3) + 4;
+
+            closest[i] = (byte) getClosestColorIndex(r, g, b);
+        }
+
+        return closest;
+    }
+
+    private static int getClosestColorIndex(int r, int g, int b) {
+        int minDistance = Integer.MAX_VALUE;
+        int closestIndex = 0;
 
-                int distance = calculateColorDistance(rgb, colorRgb);
+        for (int i = 0; i < COLORS.length; i++) {
+            int color = COLORS[i].getColor();
+            int distance = calculateColorDistance(r, g, b, (color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF);
 
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    closestCode = chatFormat.getChar();
-                }
+            if (distance < minDistance) {
+                minDistance = distance;
+                closestIndex = i;
             }
         }
 
-        return closestCode;
+        return closestIndex;
     }
 
-    private static int calculateColorDistance(int[] color1, int[] color2) {
-        int rDiff = color1[0] - color2[0];
-        int gDiff = color1[1] - color2[1];
-        int bDiff = color1[2] - color2[2];
+    private static int calculateColorDistance(int r1, int g1, int b1, int r2, int g2, int b2) {
+        int rDiff = r1 - r2;
+        int gDiff = g1 - g2;
+        int bDiff = b1 - b2;
         return rDiff * rDiff + gDiff * gDiff + bDiff * bDiff;
     }
 }
@@ -0,0 +1,144 @@
+package com.axius.util;
+
+/**
+ * Contains classes related to handling collections and data structures.
+ */
+import java.util.Arrays;
+
+/**
+ * A fixed-memory histogram of non-negative long values, bucketed in the style of an HDR histogram:
+ * values below 32 are counted exactly, and every power of two above that is split into 16 linear
+ * sub-buckets, which keeps the relative error of any reported value below about 6%.
+ * Recording is allocation-free and meant for a single writer thread; reads from other threads
+ * may observe a recording in progress, which is acceptable for instrumentation.
+ */
+public class Histogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int LINEAR_COUNT = SUB_COUNT << 1;
+    private static final int LINEAR_BITS = SUB_BITS + 1;
+    private static final int BUCKET_COUNT = LINEAR_COUNT + (63 - LINEAR_BITS) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long total;
+    private long sum;
+    private long max;
+
+    /**
+     * Records a single value.
+     *
+     * @param value The value to record; negative values are recorded as 0.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+
+        this.counts[index(value)]++;
+        this.total++;
+        this.sum += value;
+
+        if (value > this.max) {
+            this.max = value;
+        }
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return this.total;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return The largest recorded value, or 0 if nothing has been recorded.
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return The mean of the recorded values, or 0 if nothing has been recorded.
+     */
+    public double getMean() {
+        return this.total == 0 ? 0 : (double) this.sum / this.total;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values fall.
+     *
+     * @param percentile The percentile to query, between 0 and 100.
+     * @return The highest value of the bucket containing the percentile, or 0 if nothing has been recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = this.total;
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil((MathExtension.clamp(percentile, 0.0, 100.0) / 100.0) * count));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += this.counts[i];
+
+            if (seen >= target) {
+                return Math.min(upperBound(i), this.max);
+            }
+        }
+
+        return this.max;
+    }
+
+    /**
+     * Clears every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(this.counts, 0L);
+        this.total = 0;
+        this.sum = 0;
+        this.max = 0;
+    }
+
+    /**
+     * Returns the bucket index of the given value.
+     *
+     * @param value The non-negative value.
+     * @return The bucket index.
+     */
+    private static int index(long value) {
+        if (value < LINEAR_COUNT) {
+            return (int) value;
+        }
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (magnitude - SUB_BITS)) - SUB_COUNT;
+
+        return LINEAR_COUNT + (magnitude - LINEAR_BITS) * SUB_COUNT + sub;
+    }
+
+    /**
+     * Returns the highest value which falls into the given bucket.
+     *
+     * @param index The bucket index.
+     * @return The highest value of the bucket.
+     */
+    private static long upperBound(int index) {
+        if (index < LINEAR_COUNT) {
+            return index;
+        }
+
+        int magnitude = (index - LINEAR_COUNT) / SUB_COUNT + LINEAR_BITS;
+        long sub = (index - LINEAR_COUNT) % SUB_COUNT + SUB_COUNT;
+        int shift = magnitude - SUB_BITS;
+
+        return ((sub + 1) << shift) - 1;
+    }
+}
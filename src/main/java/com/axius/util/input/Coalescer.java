@@ -0,0 +1,106 @@
+package com.axius.util.input;
+
+import com.axius.api.Input;
+
+/**
+ * The Coalescer class buffers key transitions for tick-coalesced KeyboardEvents in a preallocated
+ * ring and delivers them once per client tick, so those listeners run at the tick rate rather than
+ * at the operating system's key repeat rate. Nothing is allocated while recording or draining.
+ */
+public class Coalescer {
+    private static final int CAPACITY = 256;
+    private static final int MASK = CAPACITY - 1;
+    private static final int KEYS = Input.Key.KEY_LAST + 1;
+    private static final Input.Type[] TYPES = Input.Type.values();
+
+    private static final int[] ring = new int[CAPACITY];
+    private static int head = 0, tail = 0;
+
+    private static final int[] presses = new int[KEYS];
+    private static final int[] holds = new int[KEYS];
+    private static final int[] releases = new int[KEYS];
+    private static final long[] touched = new long[(Input.Key.KEY_LAST >>> 6) + 1];
+
+    /**
+     * Buffers a key transition until the next client tick.
+     *
+     * @param keyCode  The key code associated with the event.
+     * @param newState The new state of the key.
+     */
+    public static void record(int keyCode, Input.Type newState) {
+        if (keyCode < 0 || keyCode >= KEYS) {
+            return;
+        }
+
+        if (tail - head == CAPACITY) {
+            // The ring is full, so the oldest transition is counted early to make room.
+            count(ring[head++ & MASK]);
+        }
+
+        ring[tail++ & MASK] = (keyCode << 2) | newState.ordinal();
+    }
+
+    /**
+     * Drains the buffered transitions and delivers one call per touched key to each of its
+     * tick-coalesced listeners. Called once per client tick.
+     */
+    public static void flush() {
+        while (head != tail) {
+            count(ring[head++ & MASK]);
+        }
+
+        for (int word = 0; word < touched.length; word++) {
+            long bits = touched[word];
+            touched[word] = 0;
+
+            while (bits != 0) {
+                int keyCode = (word << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                deliver(keyCode);
+            }
+        }
+    }
+
+    /**
+     * Adds a buffered transition to the per-key counters.
+     *
+     * @param entry The packed key code and key state.
+     */
+    private static void count(int entry) {
+        int keyCode = entry >>> 2;
+
+        switch (TYPES[entry & 3]) {
+            case Press -> presses[keyCode]++;
+            case Hold -> holds[keyCode]++;
+            case Release -> releases[keyCode]++;
+            default -> {
+                return;
+            }
+        }
+
+        touched[keyCode >>> 6] |= 1L << keyCode;
+    }
+
+    /**
+     * Delivers the counted transitions of a key to its tick-coalesced listeners and clears them.
+     *
+     * @param keyCode The key code to deliver.
+     */
+    private static void deliver(int keyCode) {
+        int pressed = presses[keyCode], held = holds[keyCode], released = releases[keyCode];
+        presses[keyCode] = holds[keyCode] = releases[keyCode] = 0;
+
+        for (Input.KeyboardEvent key : Input.getKeyInputs(keyCode)) {
+            Input.ICoalesced listener = key.getCoalesced();
+
+            if (listener != null) {
+                long start = System.nanoTime();
+
+                listener.listen(key.getState(), pressed, held, released);
+
+                Latency.recordListener(key.getName(), System.nanoTime() - start);
+            }
+        }
+    }
+}
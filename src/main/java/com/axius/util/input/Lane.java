@@ -0,0 +1,110 @@
+package com.axius.util.input;
+
+/**
+ * Contains classes related to controllers and input handling.
+ */
+import com.axius.api.Input;
+import com.axius.controller.Axius;
+import net.minecraft.client.Minecraft;
+
+/**
+ * Contains classes related to concurrency.
+ */
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Lane class runs asynchronous input listeners on a single worker thread, so their events are
+ * handled in the order they happened without blocking the client thread. The lane is bounded:
+ * when it is full, new presses and holds are dropped with a warning rather than stalling the
+ * frame. Releases are always queued unless the listener's matching press was dropped, so a
+ * listener never sees a press without its release.
+ */
+public class Lane {
+    /**
+     * The most events which can wait on the lane before presses and holds are dropped.
+     */
+    public static final int CAPACITY = 256;
+
+    // Presses dropped per listener whose releases haven't arrived yet
+    private static final Map<Input.IAsyncState, Integer> dropped = new HashMap<Input.IAsyncState, Integer>();
+
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(), runnable -> {
+                Thread thread = new Thread(runnable, "Axius Input Lane");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Queues a state change for an asynchronous listener. When the lane is full, presses and holds
+     * are dropped; a release is dropped only if it ends a press which was dropped, and is queued
+     * past the capacity otherwise. The queue therefore never holds more than the capacity plus
+     * one release per pressed key.
+     *
+     * @param listener The asynchronous listener.
+     * @param state    The new state of the key.
+     */
+    public static synchronized void submit(Input.IAsyncState listener, Input.Type state) {
+        Integer pending = dropped.get(listener);
+
+        if (state.equals(Input.Type.Release)) {
+            if (pending != null) {
+                // Drops the release along with the press it ends.
+                if (pending == 1) {
+                    dropped.remove(listener);
+                } else {
+                    dropped.put(listener, pending - 1);
+                }
+
+                return;
+            }
+        } else if (pending != null && state.equals(Input.Type.Hold)) {
+            // Drops holds of a press which was dropped.
+            return;
+        } else if (getPending() >= CAPACITY) {
+            Axius.LOGGER.warn("Input lane is full, dropping {} event for {}", state, listener);
+
+            if (state.equals(Input.Type.Press)) {
+                dropped.put(listener, pending == null ? 1 : pending + 1);
+            }
+
+            return;
+        }
+
+        executor.execute(() -> run(listener, state));
+    }
+
+    /**
+     * Returns the number of events waiting on the lane.
+     *
+     * @return The number of waiting events.
+     */
+    public static int getPending() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Runs an asynchronous listener on the lane and marshals its result back to the client thread.
+     *
+     * @param listener The asynchronous listener.
+     * @param state    The new state of the key.
+     */
+    private static void run(Input.IAsyncState listener, Input.Type state) {
+        Runnable result;
+
+        try {
+            result = listener.listenAsync(state);
+        } catch (Exception e) {
+            Axius.LOGGER.error("Asynchronous input listener failed", e);
+            return;
+        }
+
+        if (result != null) {
+            Minecraft.getInstance().execute(result);
+        }
+    }
+}
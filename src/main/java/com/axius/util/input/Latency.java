@@ -0,0 +1,111 @@
+package com.axius.util.input;
+
+/**
+ * Contains classes related to controllers and utilities.
+ */
+import com.axius.controller.Axius;
+import com.axius.util.Histogram;
+
+/**
+ * The Latency class records how long Axius spends dispatching key events and running input
+ * listeners. Both are kept in fixed-memory histograms which can be read at any time.
+ */
+public class Latency {
+    /**
+     * Listeners running longer than this many nanoseconds are reported as slow.
+     */
+    public static final long SLOW_LISTENER = 5_000_000L;
+
+    private static final Histogram dispatch = new Histogram();
+    private static final Histogram listeners = new Histogram();
+
+    private static volatile String slowestListener = null;
+    private static volatile long slowestTime = 0;
+
+    /**
+     * Records the time taken to dispatch a single key event, from the input callback until every
+     * listener has finished.
+     *
+     * @param nanos The dispatch time in nanoseconds.
+     */
+    public static void recordDispatch(long nanos) {
+        dispatch.record(nanos);
+    }
+
+    /**
+     * Records the time taken by a single listener invocation and reports it if it is slow.
+     *
+     * @param name  The name of the input event the listener belongs to.
+     * @param nanos The listener execution time in nanoseconds.
+     */
+    public static void recordListener(String name, long nanos) {
+        listeners.record(nanos);
+
+        if (nanos > slowestTime) {
+            slowestTime = nanos;
+            slowestListener = name;
+        }
+
+        if (nanos > SLOW_LISTENER) {
+            Axius.LOGGER.warn("Input listener '{}' took {} ms", name, nanos / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Returns the histogram of key dispatch times in nanoseconds.
+     *
+     * @return The key dispatch histogram.
+     */
+    public static Histogram getDispatch() {
+        return dispatch;
+    }
+
+    /**
+     * Returns the histogram of listener execution times in nanoseconds.
+     *
+     * @return The listener histogram.
+     */
+    public static Histogram getListeners() {
+        return listeners;
+    }
+
+    /**
+     * Returns the name of the input event whose listener took the longest.
+     *
+     * @return The name of the slowest listener, or null if no listener has run.
+     */
+    public static String getSlowestListener() {
+        return slowestListener;
+    }
+
+    /**
+     * Returns the longest listener execution time.
+     *
+     * @return The longest listener execution time in nanoseconds.
+     */
+    public static long getSlowestTime() {
+        return slowestTime;
+    }
+
+    /**
+     * Returns a one-line summary of the recorded latencies, in microseconds.
+     *
+     * @return The latency summary.
+     */
+    public static String getSummary() {
+        return String.format("dispatch n=%d p50=%dus p99=%dus max=%dus | listeners n=%d p50=%dus p99=%dus max=%dus (%s)",
+                dispatch.getCount(), dispatch.getValueAtPercentile(50) / 1000, dispatch.getValueAtPercentile(99) / 1000, dispatch.getMax() / 1000,
+                listeners.getCount(), listeners.getValueAtPercentile(50) / 1000, listeners.getValueAtPercentile(99) / 1000, listeners.getMax() / 1000,
+                slowestListener);
+    }
+
+    /**
+     * Clears every recorded latency.
+     */
+    public static void reset() {
+        dispatch.reset();
+        listeners.reset();
+        slowestListener = null;
+        slowestTime = 0;
+    }
+}
@@ -0,0 +1,219 @@
+package com.axius.util.input;
+
+/**
+ * Contains classes related to controllers and input handling.
+ */
+import com.axius.api.Input;
+import com.axius.controller.Axius;
+import net.minecraft.client.Minecraft;
+
+/**
+ * Contains classes related to file handling.
+ */
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The Recorder class records key events with their timing to a compact binary log, and replays
+ * such a log through {@link Update#dispatch(int, Input.Type)} without needing a window. Replay
+ * can run in real time or as fast as possible, which gives a deterministic workload for
+ * measuring the input path. Replayed events are dispatched on the client thread when a client is
+ * running, and are not recorded themselves, so live input keeps being recorded while a replay runs.
+ * <p>
+ * The log starts with the magic number {@code AXIR} and a version byte, followed by one record
+ * per event: the nanoseconds since the previous event as an unsigned variable-length integer,
+ * the key code as a short, and the key state ordinal as a byte.
+ */
+public class Recorder {
+    private static final int MAGIC = 0x41584952;
+    private static final int VERSION = 1;
+    private static final Input.Type[] TYPES = Input.Type.values();
+
+    private static volatile DataOutputStream output = null;
+    private static long last;
+
+    /**
+     * Starts recording key events to the given file, replacing any recording in progress.
+     *
+     * @param path The file to record to.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static synchronized void start(Path path) throws IOException {
+        stop();
+
+        DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        stream.writeInt(MAGIC);
+        stream.writeByte(VERSION);
+
+        last = System.nanoTime();
+        output = stream;
+    }
+
+    /**
+     * Stops the recording in progress, if any, and closes its file.
+     *
+     * @throws IOException If the file cannot be flushed or closed.
+     */
+    public static synchronized void stop() throws IOException {
+        DataOutputStream stream = output;
+        output = null;
+
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Checks if key events are currently being recorded.
+     *
+     * @return true if a recording is in progress, false otherwise.
+     */
+    public static boolean isRecording() {
+        return output != null;
+    }
+
+    /**
+     * Appends a key event to the recording in progress. Key codes outside the GLFW key range, such
+     * as unknown keys, are not recorded. If writing fails, the recording is stopped.
+     *
+     * @param keyCode  The key code associated with the event.
+     * @param newState The new state of the key.
+     * @param time     The time of the event, from {@link System#nanoTime()}.
+     */
+    static synchronized void record(int keyCode, Input.Type newState, long time) {
+        DataOutputStream stream = output;
+
+        if (stream == null || keyCode < 0 || keyCode > Input.Key.KEY_LAST) {
+            return;
+        }
+
+        try {
+            writeVarLong(stream, Math.max(0, time - last));
+            stream.writeShort(keyCode);
+            stream.writeByte(newState.ordinal());
+
+            last = time;
+        } catch (IOException e) {
+            Axius.LOGGER.error("Failed to record input, stopping the recording", e);
+
+            try {
+                stop();
+            } catch (IOException ignored) {
+                // The recording is already broken.
+            }
+        }
+    }
+
+    /**
+     * Replays a recorded log through the input dispatch path. When called off the client thread
+     * with a client running, each event is handed to the client thread, and the reported rate only
+     * covers reading and scheduling them; without a client, events are dispatched on the caller's thread.
+     *
+     * @param path     The file to replay.
+     * @param realTime Whether to keep the recorded timing between events, or replay as fast as possible.
+     * @return The number of replayed events.
+     * @throws IOException If the file cannot be read, is not an input recording, or is corrupt.
+     */
+    public static int replay(Path path, boolean realTime) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readUnsignedByte() != VERSION) {
+                throw new IOException("Not an Axius input recording: " + path);
+            }
+
+            int count = 0;
+            long start = System.nanoTime();
+            long target = start;
+            Minecraft minecraft = Minecraft.getInstance();
+
+            while (true) {
+                long delta;
+
+                try {
+                    delta = readVarLong(input);
+                } catch (EOFException end) {
+                    break;
+                }
+
+                int keyCode = input.readShort();
+                int ordinal = input.readUnsignedByte();
+
+                if (keyCode < 0 || keyCode > Input.Key.KEY_LAST) {
+                    throw new IOException("Bad key code " + keyCode + " in input recording: " + path);
+                }
+
+                if (ordinal >= TYPES.length) {
+                    throw new IOException("Bad state byte " + ordinal + " in input recording: " + path);
+                }
+
+                Input.Type state = TYPES[ordinal];
+
+                if (realTime) {
+                    target += delta;
+
+                    for (long wait = target - System.nanoTime(); wait > 0; wait = target - System.nanoTime()) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+
+                if (minecraft != null && !minecraft.isSameThread()) {
+                    minecraft.execute(() -> Update.dispatch(keyCode, state, false));
+                } else {
+                    Update.dispatch(keyCode, state, false);
+                }
+
+                count++;
+            }
+
+            long elapsed = System.nanoTime() - start;
+            Axius.LOGGER.info("Replayed {} input events in {} ms ({} events/s)", count, elapsed / 1_000_000.0,
+                    elapsed == 0 ? count : (long) (count * 1_000_000_000.0 / elapsed));
+
+            return count;
+        }
+    }
+
+    /**
+     * Writes an unsigned variable-length integer, seven bits per byte.
+     *
+     * @param stream The stream to write to.
+     * @param value  The non-negative value to write.
+     * @throws IOException If writing fails.
+     */
+    private static void writeVarLong(DataOutputStream stream, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            stream.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        stream.writeByte((int) value);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer, seven bits per byte.
+     *
+     * @param stream The stream to read from.
+     * @return The value read.
+     * @throws IOException If reading fails, or EOFException at the end of the log.
+     */
+    private static long readVarLong(DataInputStream stream) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = stream.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed input recording.");
+    }
+}
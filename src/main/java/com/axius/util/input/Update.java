@@ -1,71 +1,147 @@
 package com.axius.util.input;
 
 import com.axius.api.Input;
+import com.axius.util.input.gamepad.GamepadPoller;
 
 /**
  * Contains classes related to handling collections and data structures.
  */
 import java.util.ArrayList;
-import java.util.Map;
 
 public class Update {
+    // Number of presses of any key dispatched so far, which lets sequences notice presses on keys outside them
+    private static long presses = 0;
+
+    /**
+     * Dispatches a key event to the subscribed keys, bindings and sequences, recording it if a
+     * recording is in progress and measuring how long the dispatch took.
+     *
+     * @param keyCode  The key code associated with the event.
+     * @param newState The new state of the key.
+     */
+    public static void dispatch(int keyCode, Input.Type newState) {
+        dispatch(keyCode, newState, true);
+    }
+
+    /**
+     * Dispatches a key event to the subscribed keys, bindings and sequences, measuring how long
+     * the dispatch took.
+     *
+     * @param keyCode  The key code associated with the event.
+     * @param newState The new state of the key.
+     * @param record   Whether to record the event if a recording is in progress; replayed events aren't.
+     */
+    static void dispatch(int keyCode, Input.Type newState, boolean record) {
+        long start = System.nanoTime();
+
+        if (record && Recorder.isRecording()) {
+            Recorder.record(keyCode, newState, start);
+        }
+
+        if (newState == Input.Type.Press) {
+            presses++;
+        }
+
+        keyState(Input.getKeyInputs(keyCode), keyCode, newState);
+        bindingState(Input.getBindingInputs(keyCode), keyCode, newState);
+        sequenceState(Input.getSequenceInputs(keyCode), keyCode, newState, presses);
+
+        Latency.recordDispatch(System.nanoTime() - start);
+    }
+
     /**
      * Updates the state of keys based on the input event.
      *
-     * @param keys     List of keys to update.
+     * @param keys     Keys subscribed to the key code, as indexed by {@link Input#getKeyInputs(int)}.
      * @param keyCode  The key code associated with the event.
      * @param newState The new state to set for the keys.
      */
-    public static void keyState(Map<Integer, Input.KeyboardEvent> keys, int keyCode, Input.Type newState) {
-        keys.values().stream()
-                .filter(state -> state.getKeymap().getKey().getValue() != state.getKey())
-                .forEach(state -> state.setKey(state.getKeymap().getKey().getValue()));
-
-        keys.keySet().stream()
-                .filter(key -> key == keyCode).filter(key -> !keys.get(key).isBinded())
-                .forEach(key -> state(keys.get(key), newState));
+    public static void keyState(Input.KeyboardEvent[] keys, int keyCode, Input.Type newState) {
+        Input.setDown(keyCode, newState != Input.Type.Release);
+        boolean coalesced = false;
+
+        for (Input.KeyboardEvent key : keys) {
+            if (!key.isBinded()) {
+                state(key, newState);
+            }
+
+            coalesced |= key.getCoalesced() != null;
+        }
+
+        if (coalesced) {
+            // Buffers the transition for the tick-coalesced listeners of the key.
+            Coalescer.record(keyCode, newState);
+        }
+    }
+
+    /**
+     * Delivers the buffered transitions to tick-coalesced listeners and polls the gamepads,
+     * called once per client tick.
+     */
+    public static void tick() {
+        Coalescer.flush();
+        GamepadPoller.poll();
     }
 
     /**
      * Updates the state of bindings based on the input event.
      *
-     * @param bindings List of bindings to update.
+     * @param bindings Bindings that contain the key code, as indexed by {@link Input#getBindingInputs(int)}.
      * @param keyCode  The key code associated with the event.
      * @param newState The new state to set for the bindings.
      */
-    public static void bindingState(ArrayList<Input.KeyBindingEvent> bindings, int keyCode, Input.Type newState) {
-        bindings.stream()
-                .filter(binding -> binding.getKeys().get(0).getKey() == keyCode || binding.getKeys().get(1).getKey() == keyCode)
-                .forEach(binding -> {
-                    Input.KeyboardEvent key0 = binding.getKeys().get(0);
-                    Input.KeyboardEvent key1 = binding.getKeys().get(1);
-
-                    if (key0.getKey() == keyCode) {
-                        state(key0, newState);
-                    } else if (key1.getKey() == keyCode) {
-                        state(key1, newState);
-                    }
+    public static void bindingState(Input.KeyBindingEvent[] bindings, int keyCode, Input.Type newState) {
+        for (Input.KeyBindingEvent binding : bindings) {
+            ArrayList<Input.KeyboardEvent> keys = binding.getKeys();
+
+            for (int i = 0, m = keys.size(); i < m; i++) {
+                Input.KeyboardEvent key = keys.get(i);
+
+                if (key.getKey() == keyCode) {
+                    state(key, newState);
+                    break;
+                }
+            }
 
-                    switch (newState) {
-                        case Press:
-                            if (binding.isPressing()) {
-                                state(binding, newState);
-                            }
-                            break;
-                        case Release:
-                            if (binding.isReleased()) {
-                                state(binding, newState);
-                            }
-                            break;
-                        case Hold:
-                            if (binding.isHolding()) {
-                                state(binding, newState);
-                            }
-                            break;
-                        default:
-                            return;
+            boolean complete = binding.isComplete();
+
+            switch (newState) {
+                case Press:
+                case Hold:
+                    if (complete) {
+                        state(binding, newState);
+                    }
+                    break;
+                case Release:
+                    if (!complete) {
+                        // Releasing any key of the chord breaks it.
+                        state(binding, newState);
                     }
-                });
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Advances the sequences based on the input event.
+     *
+     * @param sequences Sequences that contain the key code, as indexed by {@link Input#getSequenceInputs(int)}.
+     * @param keyCode   The key code associated with the event.
+     * @param newState  The new state of the key.
+     * @param presses   The number of presses of any key so far, including this event.
+     */
+    public static void sequenceState(Input.SequenceEvent[] sequences, int keyCode, Input.Type newState, long presses) {
+        if (sequences.length == 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        for (Input.SequenceEvent sequence : sequences) {
+            sequence.advance(keyCode, newState, now, presses);
+        }
     }
 
     /**
@@ -0,0 +1,71 @@
+package com.axius.util.input.gamepad;
+
+import com.axius.api.Input;
+
+/**
+ * A gamepad source whose state is set by hand, for driving the GamepadPoller without a window
+ * or a physical controller.
+ */
+public class FakeGamepadSource implements IGamepadSource {
+    private final boolean[] connected = new boolean[Input.Joysticks.JOYSTICK_LAST + 1];
+    private final byte[][] buttons = new byte[Input.Joysticks.JOYSTICK_LAST + 1][Input.Gamepad.GAMEPAD_BUTTON_LAST + 1];
+    private final float[][] axes = new float[Input.Joysticks.JOYSTICK_LAST + 1][Input.Gamepad.GAMEPAD_AXIS_LAST + 1];
+
+    /**
+     * Connects or disconnects a joystick.
+     *
+     * @param joystick  The joystick identifier.
+     * @param connected Whether the joystick is connected.
+     * @return This FakeGamepadSource.
+     */
+    public FakeGamepadSource setConnected(int joystick, boolean connected) {
+        this.connected[joystick] = connected;
+        return this;
+    }
+
+    /**
+     * Sets whether a button is pressed.
+     *
+     * @param joystick The joystick identifier.
+     * @param button   The button identifier.
+     * @param pressed  Whether the button is pressed.
+     * @return This FakeGamepadSource.
+     */
+    public FakeGamepadSource setButton(int joystick, int button, boolean pressed) {
+        this.buttons[joystick][button] = (byte) (pressed ? 1 : 0);
+        return this;
+    }
+
+    /**
+     * Sets the raw value of an axis.
+     *
+     * @param joystick The joystick identifier.
+     * @param axis     The axis identifier.
+     * @param value    The raw axis value, from -1 to 1.
+     * @return This FakeGamepadSource.
+     */
+    public FakeGamepadSource setAxis(int joystick, int axis, float value) {
+        this.axes[joystick][axis] = value;
+        return this;
+    }
+
+    /**
+     * Copies the hand-set state of a joystick into the provided arrays.
+     *
+     * @param joystick The joystick identifier.
+     * @param buttons  The array to fill with button states, non-zero for pressed.
+     * @param axes     The array to fill with raw axis values, from -1 to 1.
+     * @return true if the joystick is connected, false otherwise.
+     */
+    @Override
+    public boolean poll(int joystick, byte[] buttons, float[] axes) {
+        if (!this.connected[joystick]) {
+            return false;
+        }
+
+        System.arraycopy(this.buttons[joystick], 0, buttons, 0, buttons.length);
+        System.arraycopy(this.axes[joystick], 0, axes, 0, axes.length);
+
+        return true;
+    }
+}
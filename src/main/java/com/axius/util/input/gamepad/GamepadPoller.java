@@ -0,0 +1,170 @@
+package com.axius.util.input.gamepad;
+
+import com.axius.api.Input;
+
+/**
+ * Contains classes related to handling collections and data structures.
+ */
+import java.util.Arrays;
+
+/**
+ * The GamepadPoller class reads every joystick once per client tick into preallocated arrays,
+ * applies deadzones to the axes, and raises Press/Hold/Release transitions on the subscribed
+ * Input.GamepadEvents. Polling allocates nothing, and is skipped entirely when no gamepad
+ * events are registered.
+ */
+public class GamepadPoller {
+    private static final int JOYSTICKS = Input.Joysticks.JOYSTICK_LAST + 1;
+    private static final int BUTTONS = Input.Gamepad.GAMEPAD_BUTTON_LAST + 1;
+    private static final int AXES = Input.Gamepad.GAMEPAD_AXIS_LAST + 1;
+
+    private static final byte[][] buttons = new byte[JOYSTICKS][BUTTONS];
+    private static final float[][] axes = new float[JOYSTICKS][AXES];
+    private static final boolean[][] down = new boolean[JOYSTICKS][Input.GamepadEvent.CONTROLS];
+    private static final boolean[] connected = new boolean[JOYSTICKS];
+
+    private static IGamepadSource source = null;
+    private static float deadzone = 0.25f;
+
+    /**
+     * Replaces the source the gamepads are read from, such as a FakeGamepadSource for headless use.
+     *
+     * @param gamepadSource The gamepad source to poll.
+     */
+    public static void setSource(IGamepadSource gamepadSource) {
+        source = gamepadSource;
+    }
+
+    /**
+     * Sets the deadzone applied to every axis.
+     *
+     * @param value The deadzone, from 0 to just below 1.
+     */
+    public static void setDeadzone(float value) {
+        deadzone = Math.min(Math.max(value, 0.0f), 0.99f);
+    }
+
+    /**
+     * Checks if a joystick was connected at the last poll.
+     *
+     * @param joystick The joystick identifier.
+     * @return true if the joystick is connected, false otherwise.
+     */
+    public static boolean isConnected(int joystick) {
+        return connected[joystick];
+    }
+
+    /**
+     * Returns the value of an axis at the last poll, after the deadzone has been applied.
+     * Triggers range from 0 at rest to 1, every other axis from -1 to 1.
+     *
+     * @param joystick The joystick identifier.
+     * @param axis     The axis identifier.
+     * @return The axis value.
+     */
+    public static float getAxis(int joystick, int axis) {
+        return axes[joystick][axis];
+    }
+
+    /**
+     * Checks if a control was down at the last poll.
+     *
+     * @param joystick The joystick identifier.
+     * @param control  The control identifier.
+     * @return true if the control is down, false otherwise.
+     */
+    public static boolean isDown(int joystick, int control) {
+        return down[joystick][control];
+    }
+
+    /**
+     * Polls every joystick and raises transitions on the subscribed gamepad events.
+     * Called once per client tick.
+     */
+    public static void poll() {
+        if (Input.getGamepadCount() == 0) {
+            return;
+        }
+
+        if (source == null) {
+            source = new GlfwGamepadSource();
+        }
+
+        for (int joystick = 0; joystick < JOYSTICKS; joystick++) {
+            if (!source.poll(joystick, buttons[joystick], axes[joystick])) {
+                if (connected[joystick]) {
+                    // Releases everything that was down when the joystick disconnected.
+                    connected[joystick] = false;
+
+                    Arrays.fill(buttons[joystick], (byte) 0);
+                    Arrays.fill(axes[joystick], 0f);
+
+                    for (int control = 0; control < Input.GamepadEvent.CONTROLS; control++) {
+                        update(joystick, control, false);
+                    }
+                }
+
+                continue;
+            }
+
+            connected[joystick] = true;
+
+            for (int button = 0; button < BUTTONS; button++) {
+                update(joystick, button, buttons[joystick][button] != 0);
+            }
+
+            for (int axis = 0; axis < AXES; axis++) {
+                float value = deadzone(axis, axes[joystick][axis]);
+                axes[joystick][axis] = value;
+
+                update(joystick, Input.GamepadEvent.axis(axis, true), value > 0);
+                update(joystick, Input.GamepadEvent.axis(axis, false), value < 0);
+            }
+        }
+    }
+
+    /**
+     * Applies the deadzone to a raw axis value and rescales the remainder to the full range.
+     *
+     * @param axis  The axis identifier.
+     * @param value The raw axis value, from -1 to 1.
+     * @return The axis value after the deadzone.
+     */
+    private static float deadzone(int axis, float value) {
+        if (axis == Input.Gamepad.GAMEPAD_AXIS_LEFT_TRIGGER || axis == Input.Gamepad.GAMEPAD_AXIS_RIGHT_TRIGGER) {
+            // Triggers rest at -1, so they are moved to the range 0 to 1 first.
+            value = (value + 1.0f) * 0.5f;
+        }
+
+        float magnitude = Math.abs(value);
+
+        if (magnitude < deadzone) {
+            return 0.0f;
+        }
+
+        return Math.copySign(Math.min((magnitude - deadzone) / (1.0f - deadzone), 1.0f), value);
+    }
+
+    /**
+     * Updates the state of a control and raises the transition on its subscribed gamepad events.
+     *
+     * @param joystick The joystick identifier.
+     * @param control  The control identifier.
+     * @param isDown   Whether the control is down now.
+     */
+    private static void update(int joystick, int control, boolean isDown) {
+        boolean wasDown = down[joystick][control];
+
+        if (!wasDown && !isDown) {
+            return;
+        }
+
+        down[joystick][control] = isDown;
+
+        Input.Type state = !isDown ? Input.Type.Release : (wasDown ? Input.Type.Hold : Input.Type.Press);
+
+        for (Input.GamepadEvent event : Input.getGamepadInputs(joystick, control)) {
+            event.setState(state);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.axius.util.input.gamepad;
+
+/**
+ * Contains classes related to native window and input handling.
+ */
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.glfw.GLFWGamepadState;
+
+/**
+ * Reads gamepad state from GLFW's standard gamepad mapping into a single reused native buffer.
+ */
+public class GlfwGamepadSource implements IGamepadSource {
+    private final GLFWGamepadState state = GLFWGamepadState.create();
+
+    /**
+     * Reads the current state of a joystick from GLFW.
+     *
+     * @param joystick The joystick identifier.
+     * @param buttons  The array to fill with button states, non-zero for pressed.
+     * @param axes     The array to fill with raw axis values, from -1 to 1.
+     * @return true if the joystick is a connected gamepad and was read, false otherwise.
+     */
+    @Override
+    public boolean poll(int joystick, byte[] buttons, float[] axes) {
+        if (!GLFW.glfwJoystickIsGamepad(joystick) || !GLFW.glfwGetGamepadState(joystick, this.state)) {
+            return false;
+        }
+
+        for (int i = 0; i < buttons.length; i++) {
+            buttons[i] = this.state.buttons(i);
+        }
+
+        for (int i = 0; i < axes.length; i++) {
+            axes[i] = this.state.axes(i);
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.axius.util.input.gamepad;
+
+/**
+ * This interface represents a source of gamepad state which the GamepadPoller reads once per tick.
+ * Implementing classes should fill the provided arrays in place without allocating.
+ */
+public interface IGamepadSource {
+
+    /**
+     * Reads the current state of a joystick into the provided arrays.
+     *
+     * @param joystick The joystick identifier.
+     * @param buttons  The array to fill with button states, non-zero for pressed.
+     * @param axes     The array to fill with raw axis values, from -1 to 1.
+     * @return true if the joystick is connected and was read, false otherwise.
+     */
+    boolean poll(int joystick, byte[] buttons, float[] axes);
+}
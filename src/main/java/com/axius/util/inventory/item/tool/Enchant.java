@@ -12,18 +12,30 @@ import com.axius.server.packets.inventory.item.tool.EnchantPacket;
 import com.axius.controller.Axius;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.EnchantedBookItem;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
 import net.minecraft.world.item.enchantment.Enchantment;
-import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.ForgeRegistry;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The Enchant class provides methods to interact with enchantments on ItemStacks.
  */
 public class Enchant {
 
+    // Registry ids of enchantments, cached so lookups don't build new strings
+    private static final Map<Enchantment, String> ids = new ConcurrentHashMap<>();
+
+    // Enchantments by registry id, cached so reading NBT doesn't parse resource locations; empty for unknown ids
+    private static final Map<String, Optional<Enchantment>> enchantments = new ConcurrentHashMap<>();
+
     /**
      * Adds an enchantment to the given ItemStack.
      *
@@ -60,30 +72,42 @@ public class Enchant {
     }
 
     /**
-     * Retrieves a map of enchantments and their levels from the given ItemStack.
+     * Retrieves the set of enchantments and their levels from the given ItemStack.
      *
      * @param item The ItemStack from which to retrieve enchantments.
-     * @return A map of enchantments and their levels on the ItemStack.
+     * @return The set of enchantments and their levels on the ItemStack.
      */
-    public static Map<Enchantment, Integer> get(ItemStack item) {
-        return EnchantmentHelper.getEnchantments(item);
+    public static EnchantSet get(ItemStack item) {
+        return EnchantSet.of(item);
     }
 
     /**
-     * Checks if the given ItemStack contains a specific enchantment.
+     * Checks if the given ItemStack contains a specific enchantment. This scans the NBT in place
+     * rather than reading an {@link EnchantSet}, so it allocates nothing on tooltip paths.
      *
      * @param item The ItemStack to check for the enchantment.
      * @param enchant The enchantment to check for.
      * @return True if the enchantment is present on the ItemStack, false otherwise.
      */
     public static boolean contains(ItemStack item, Enchantment enchant) {
-        Map<Enchantment, Integer> enchantments = get(item);
+        if (item.isEmpty() || !item.hasTag()) {
+            return false;
+        }
+
+        ListTag list = item.is(Items.ENCHANTED_BOOK) ? EnchantedBookItem.getEnchantments(item) : item.getEnchantmentTags();
+
+        for (int i = 0, m = list.size(); i < m; i++) {
+            if (getEnchantment(list.getCompound(i).getString("id")) == enchant) {
+                return true;
+            }
+        }
 
-        return enchantments.containsKey(enchant);
+        return false;
     }
 
     /**
-     * Retrieves the level of a specific enchantment on an ItemStack.
+     * Retrieves the level of a specific enchantment on an ItemStack. This scans the NBT in place
+     * rather than reading an {@link EnchantSet}, so it allocates nothing on tooltip paths.
      *
      * @param stack The ItemStack on which to check for the enchantment.
      * @param enchant The enchantment for which to retrieve the level.
@@ -94,13 +118,12 @@ public class Enchant {
             return 0;
         }
 
-        String id = ForgeRegistries.ENCHANTMENTS.getKey(enchant).toString();
         ListTag list = stack.getEnchantmentTags();
 
         for (int i = 0, m = list.size(); i < m; i++) {
             CompoundTag tag = list.getCompound(i);
 
-            if (id.equalsIgnoreCase(tag.getString("id"))) {
+            if (getEnchantment(tag.getString("id")) == enchant) {
                 return tag.getInt("lvl");
             }
         }
@@ -108,6 +131,141 @@ public class Enchant {
         return 0;
     }
 
+    /**
+     * Retrieves the enchantments that can be applied to the given item, as a bitset indexed by
+     * numeric registry id. The bitset is shared and must not be modified.
+     *
+     * @param item The item for which to retrieve the applicable enchantments.
+     * @return The bitset of applicable enchantments.
+     */
+    public static long[] getApplicable(Item item) {
+        return EnchantApplicability.get(item);
+    }
+
+    /**
+     * Checks if a specific enchantment can be applied to the given ItemStack's item.
+     *
+     * @param item The ItemStack to check.
+     * @param enchant The enchantment to check for.
+     * @return True if the enchantment can be applied, false otherwise.
+     */
+    public static boolean canApply(ItemStack item, Enchantment enchant) {
+        return EnchantApplicability.canApply(item.getItem(), enchant);
+    }
+
+    /**
+     * Retrieves the enchantments that can still be added to the given ItemStack: those applicable
+     * to its item and compatible with every enchantment it already has.
+     *
+     * @param item The ItemStack to check.
+     * @return The bitset of available enchantments, indexed by numeric registry id.
+     */
+    public static long[] getAvailable(ItemStack item) {
+        long[] applicable = getApplicable(item.getItem());
+        long[] available = EnchantCompatibility.getCompatible(get(item));
+
+        for (int i = 0; i < available.length; i++) {
+            available[i] &= i < applicable.length ? applicable[i] : 0L;
+        }
+
+        return available;
+    }
+
+    /**
+     * Retrieves every registered enchantment, indexed by numeric registry id.
+     *
+     * @return The enchantments, with null for unused ids.
+     */
+    public static Enchantment[] getEnchantments() {
+        int size = 0;
+
+        for (Enchantment enchant : ForgeRegistries.ENCHANTMENTS) {
+            size = Math.max(size, getNumericId(enchant) + 1);
+        }
+
+        Enchantment[] enchantments = new Enchantment[size];
+
+        for (Enchantment enchant : ForgeRegistries.ENCHANTMENTS) {
+            enchantments[getNumericId(enchant)] = enchant;
+        }
+
+        return enchantments;
+    }
+
+    /**
+     * Retrieves the registry id of a specific enchantment, as stored in item NBT.
+     * The id is looked up once per enchantment and cached.
+     *
+     * @param enchant The enchantment for which to retrieve the id.
+     * @return The registry id of the enchantment.
+     */
+    public static String getId(Enchantment enchant) {
+        return ids.computeIfAbsent(enchant, Enchant::lookupId);
+    }
+
+    /**
+     * Looks up the registry id of a specific enchantment.
+     *
+     * @param enchant The enchantment for which to look up the id.
+     * @return The registry id of the enchantment.
+     */
+    private static String lookupId(Enchantment enchant) {
+        return ForgeRegistries.ENCHANTMENTS.getKey(enchant).toString();
+    }
+
+    /**
+     * Retrieves the enchantment with the given registry id, as stored in item NBT. Ids without a
+     * namespace resolve to the minecraft namespace, as in vanilla.
+     *
+     * @param id The registry id of the enchantment.
+     * @return The enchantment, or null if there is no enchantment with that id.
+     */
+    public static Enchantment getEnchantment(String id) {
+        return enchantments.computeIfAbsent(id, Enchant::lookupEnchantment).orElse(null);
+    }
+
+    /**
+     * Looks up the enchantment with the given registry id.
+     *
+     * @param id The registry id of the enchantment.
+     * @return The enchantment, or empty if there is no enchantment with that id.
+     */
+    private static Optional<Enchantment> lookupEnchantment(String id) {
+        ResourceLocation location = ResourceLocation.tryParse(id);
+
+        return Optional.ofNullable(location == null ? null : ForgeRegistries.ENCHANTMENTS.getValue(location));
+    }
+
+    /**
+     * Retrieves the numeric registry id of a specific enchantment. Numeric ids can change when
+     * registries are synced, so they should not be stored.
+     *
+     * @param enchant The enchantment for which to retrieve the numeric id.
+     * @return The numeric registry id of the enchantment.
+     */
+    public static int getNumericId(Enchantment enchant) {
+        return getRegistry().getID(enchant);
+    }
+
+    /**
+     * Retrieves the enchantment with the given numeric registry id.
+     *
+     * @param id The numeric registry id of the enchantment.
+     * @return The enchantment, or null if there is no enchantment with that id.
+     */
+    public static Enchantment getEnchantment(int id) {
+        return getRegistry().getValue(id);
+    }
+
+    /**
+     * Retrieves the enchantment registry with access to numeric ids.
+     *
+     * @return The enchantment registry.
+     */
+    private static ForgeRegistry<Enchantment> getRegistry() {
+        return (ForgeRegistry<Enchantment>) ForgeRegistries.ENCHANTMENTS;
+    }
+
     /**
      * Retrieves the name of a specific enchantment.
      *
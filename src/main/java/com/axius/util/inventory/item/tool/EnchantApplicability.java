@@ -0,0 +1,135 @@
+package com.axius.util.inventory.item.tool;
+
+/**
+ * Contains classes related to item and enchantment handling.
+ */
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraftforge.registries.ForgeRegistries;
+
+/**
+ * Contains classes related to handling collections and data structures.
+ */
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The EnchantApplicability class holds which enchantments can be applied to each item, as one
+ * bitset per item indexed by numeric enchantment registry id. It is built with a single pass
+ * over the item registry, so lookups are a map get instead of calling
+ * {@link Enchantment#canEnchant} for every registered enchantment.
+ */
+public class EnchantApplicability {
+
+    // Bitset of an item that takes no enchantments
+    private static final long[] NONE = new long[0];
+
+    // The current applicability index, replaced whole when rebuilt
+    private static volatile Index index = new Index(0, new HashMap<>());
+
+    // The enchantments the index was built for, indexed by numeric registry id
+    private static Enchantment[] indexed = null;
+
+    /**
+     * An immutable applicability index.
+     *
+     * @param size  The number of enchantment ids covered by the index.
+     * @param items The applicable enchantments bitset of each item.
+     */
+    private record Index(int size, Map<Item, long[]> items) {}
+
+    /**
+     * Builds the applicability index over the whole item registry, unless the numeric enchantment
+     * ids haven't changed since the last build. Everything runs on the calling thread, since
+     * creating a stack posts capability events and {@link Enchantment#canEnchant} may be implemented
+     * by mods that aren't thread-safe, and the finished index is published in one swap.
+     */
+    public static synchronized void build() {
+        Enchantment[] enchantments = Enchant.getEnchantments();
+
+        if (Arrays.equals(enchantments, indexed)) {
+            return;
+        }
+
+        Item[] items = ForgeRegistries.ITEMS.getValues().toArray(new Item[0]);
+        ItemStack[] stacks = new ItemStack[items.length];
+
+        for (int i = 0; i < items.length; i++) {
+            stacks[i] = new ItemStack(items[i]);
+        }
+
+        int words = (enchantments.length + 63) >>> 6;
+        long[][] rows = new long[items.length][];
+
+        for (int i = 0; i < items.length; i++) {
+            rows[i] = buildRow(enchantments, words, stacks[i]);
+        }
+
+        Map<Item, long[]> applicable = new HashMap<>(items.length * 2);
+
+        for (int i = 0; i < items.length; i++) {
+            applicable.put(items[i], rows[i]);
+        }
+
+        index = new Index(enchantments.length, applicable);
+        indexed = enchantments;
+    }
+
+    /**
+     * Builds the applicable enchantments bitset of a single item, tested against its default stack.
+     *
+     * @param enchantments The enchantments, indexed by numeric registry id.
+     * @param words        The number of words in the row.
+     * @param stack        The default stack of the item.
+     * @return The applicable enchantments bitset of the item.
+     */
+    private static long[] buildRow(Enchantment[] enchantments, int words, ItemStack stack) {
+        long[] row = new long[words];
+
+        for (int i = 0; i < enchantments.length; i++) {
+            if (enchantments[i] != null && enchantments[i].canEnchant(stack)) {
+                row[i >>> 6] |= 1L << i;
+            }
+        }
+
+        return row;
+    }
+
+    /**
+     * Get the enchantments applicable to an item, as a bitset indexed by numeric registry id.
+     * The bitset is shared and must not be modified.
+     *
+     * @param item The item.
+     * @return The bitset of applicable enchantments.
+     */
+    public static long[] get(Item item) {
+        long[] row = index.items().get(item);
+
+        return row == null ? NONE : row;
+    }
+
+    /**
+     * Checks if an enchantment can be applied to an item.
+     *
+     * @param item    The item.
+     * @param enchant The enchantment.
+     * @return True if the enchantment can be applied, false otherwise.
+     */
+    public static boolean canApply(Item item, Enchantment enchant) {
+        long[] row = get(item);
+        int id = Enchant.getNumericId(enchant);
+
+        return id >= 0 && (id >>> 6) < row.length && (row[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Get the number of enchantment ids covered by the index.
+     *
+     * @return The number of enchantment ids.
+     */
+    public static int size() {
+        return index.size();
+    }
+}
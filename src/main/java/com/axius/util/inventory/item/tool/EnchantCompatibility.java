@@ -0,0 +1,163 @@
+package com.axius.util.inventory.item.tool;
+
+/**
+ * Contains classes related to item and enchantment handling.
+ */
+import net.minecraft.world.item.enchantment.Enchantment;
+
+/**
+ * Contains classes related to handling collections and data structures.
+ */
+import java.util.Arrays;
+
+/**
+ * The EnchantCompatibility class holds which enchantments can be combined with each other, as one
+ * bitset row per enchantment indexed by numeric registry id. It is built once the registries are
+ * frozen and rebuilt when the numeric ids change, so queries are bit tests and word-wise ANDs instead
+ * of pairwise calls to {@link Enchantment#isCompatibleWith}.
+ */
+public class EnchantCompatibility {
+
+    // The current compatibility matrix, replaced whole when rebuilt
+    private static volatile Matrix matrix = new Matrix(0, 0, new long[0][]);
+
+    // The enchantments the matrix was built for, indexed by numeric registry id
+    private static Enchantment[] indexed = null;
+
+    /**
+     * An immutable compatibility matrix.
+     *
+     * @param size  The number of enchantment ids covered by the matrix.
+     * @param words The number of words in each row.
+     * @param rows  The compatibility bitset of each enchantment, indexed by numeric registry id.
+     */
+    private record Matrix(int size, int words, long[][] rows) {}
+
+    /**
+     * Builds the compatibility matrix over the whole enchantment registry, unless the numeric ids
+     * haven't changed since the last build. Rows are computed one after another, since
+     * {@link Enchantment#isCompatibleWith} may be implemented by mods that aren't thread-safe, and
+     * the finished matrix is published in one swap.
+     */
+    public static synchronized void build() {
+        Enchantment[] enchantments = Enchant.getEnchantments();
+
+        if (Arrays.equals(enchantments, indexed)) {
+            return;
+        }
+
+        int size = enchantments.length;
+        int words = (size + 63) >>> 6;
+        long[][] rows = new long[size][];
+
+        for (int i = 0; i < size; i++) {
+            rows[i] = buildRow(enchantments, words, i);
+        }
+
+        matrix = new Matrix(size, words, rows);
+        indexed = enchantments;
+    }
+
+    /**
+     * Builds the compatibility bitset of a single enchantment.
+     *
+     * @param enchantments The enchantments, indexed by numeric registry id.
+     * @param words        The number of words in the row.
+     * @param index        The numeric registry id of the enchantment.
+     * @return The compatibility bitset of the enchantment.
+     */
+    private static long[] buildRow(Enchantment[] enchantments, int words, int index) {
+        long[] row = new long[words];
+        Enchantment enchant = enchantments[index];
+
+        if (enchant == null) {
+            return row;
+        }
+
+        for (int i = 0; i < enchantments.length; i++) {
+            if (enchantments[i] != null && enchant.isCompatibleWith(enchantments[i])) {
+                row[i >>> 6] |= 1L << i;
+            }
+        }
+
+        return row;
+    }
+
+    /**
+     * Checks if two enchantments can be on the same item. An enchantment is never compatible with itself.
+     *
+     * @param first  The first enchantment.
+     * @param second The second enchantment.
+     * @return True if the enchantments are compatible, false otherwise.
+     */
+    public static boolean isCompatible(Enchantment first, Enchantment second) {
+        Matrix current = matrix;
+        int i = Enchant.getNumericId(first);
+        int j = Enchant.getNumericId(second);
+
+        if (i < 0 || j < 0 || i >= current.size() || j >= current.size()) {
+            return first.isCompatibleWith(second); // Registered after the matrix was built
+        }
+
+        return (current.rows()[i][j >>> 6] & (1L << j)) != 0;
+    }
+
+    /**
+     * Checks if an enchantment is compatible with every enchantment in a set.
+     *
+     * @param enchantments The set of enchantments.
+     * @param enchant      The enchantment to check.
+     * @return True if the enchantment can be added alongside the set, false otherwise.
+     */
+    public static boolean isCompatible(EnchantSet enchantments, Enchantment enchant) {
+        for (int i = 0, m = enchantments.size(); i < m; i++) {
+            if (!isCompatible(enchantments.getEnchantment(i), enchant)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the enchantments compatible with every enchantment in a set, as a bitset indexed by
+     * numeric registry id. Enchantments already in the set are never included.
+     *
+     * @param enchantments The set of enchantments.
+     * @return The bitset of compatible enchantments.
+     */
+    public static long[] getCompatible(EnchantSet enchantments) {
+        Matrix current = matrix;
+        long[] compatible = new long[current.words()];
+
+        // Start from every enchantment in the matrix
+        for (int i = 0; i < current.size(); i += 64) {
+            compatible[i >>> 6] = current.size() - i >= 64 ? -1L : (1L << (current.size() - i)) - 1;
+        }
+
+        for (int i = 0, m = enchantments.size(); i < m; i++) {
+            int id = Enchant.getNumericId(enchantments.getEnchantment(i));
+
+            if (id < 0 || id >= current.size()) {
+                continue;
+            }
+
+            long[] row = current.rows()[id];
+
+            for (int w = 0; w < compatible.length; w++) {
+                compatible[w] &= row[w];
+            }
+        }
+
+        return compatible;
+    }
+
+    /**
+     * Get the number of enchantment ids covered by the matrix.
+     *
+     * @return The number of enchantment ids.
+     */
+    public static int size() {
+        return matrix.size();
+    }
+}
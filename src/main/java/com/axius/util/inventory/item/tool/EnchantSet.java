@@ -0,0 +1,294 @@
+package com.axius.util.inventory.item.tool;
+
+/**
+ * Contains classes related to item and enchantment handling.
+ */
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.world.item.EnchantedBookItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.enchantment.Enchantment;
+
+/**
+ * Contains classes related to handling collections and data structures.
+ */
+import java.util.Arrays;
+
+/**
+ * The EnchantSet class holds the enchantments on an ItemStack and their levels in primitive arrays
+ * keyed by the registry's numeric enchantment id, in the order they appear in the item's NBT.
+ * It is read from and written back to the NBT in a single pass.
+ */
+public class EnchantSet {
+
+    private int[] ids;
+    private int[] levels;
+    private int size;
+
+    /**
+     * Constructs an empty EnchantSet.
+     */
+    public EnchantSet() {
+        this(4);
+    }
+
+    /**
+     * Constructs an empty EnchantSet with room for the given number of enchantments.
+     *
+     * @param capacity The initial number of enchantments the set can hold.
+     */
+    private EnchantSet(int capacity) {
+        this.ids = new int[capacity];
+        this.levels = new int[capacity];
+    }
+
+    /**
+     * Reads the enchantments on the given ItemStack, including those stored on enchanted books.
+     *
+     * @param stack The ItemStack to read.
+     * @return The set of the stack's enchantments.
+     */
+    public static EnchantSet of(ItemStack stack) {
+        if (stack.isEmpty() || !stack.hasTag()) {
+            return new EnchantSet(0);
+        }
+
+        return of(stack.is(Items.ENCHANTED_BOOK) ? EnchantedBookItem.getEnchantments(stack) : stack.getEnchantmentTags());
+    }
+
+    /**
+     * Reads a list of enchantment tags. Enchantments missing from the registry are skipped.
+     *
+     * @param list The list of enchantment tags.
+     * @return The set of the enchantments in the list.
+     */
+    public static EnchantSet of(ListTag list) {
+        EnchantSet set = new EnchantSet(list.size());
+
+        for (int i = 0, m = list.size(); i < m; i++) {
+            CompoundTag tag = list.getCompound(i);
+            Enchantment enchant = Enchant.getEnchantment(tag.getString("id"));
+
+            if (enchant != null) {
+                set.ids[set.size] = Enchant.getNumericId(enchant);
+                set.levels[set.size] = tag.getInt("lvl");
+                set.size++;
+            }
+        }
+
+        return set;
+    }
+
+    /**
+     * Get the number of enchantments in the set.
+     *
+     * @return The number of enchantments.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the enchantment at the given position.
+     *
+     * @param index The position of the enchantment.
+     * @return The enchantment.
+     */
+    public Enchantment getEnchantment(int index) {
+        return Enchant.getEnchantment(ids[index]);
+    }
+
+    /**
+     * Get the numeric registry id of the enchantment at the given position.
+     *
+     * @param index The position of the enchantment.
+     * @return The numeric registry id of the enchantment.
+     */
+    public int getNumericId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Get the level of the enchantment at the given position.
+     *
+     * @param index The position of the enchantment.
+     * @return The level of the enchantment.
+     */
+    public int getLevel(int index) {
+        return levels[index];
+    }
+
+    /**
+     * Get the level of the given enchantment.
+     *
+     * @param enchant The enchantment for which to retrieve the level.
+     * @return The level of the enchantment, or 0 if not found.
+     */
+    public int getLevel(Enchantment enchant) {
+        int index = indexOf(Enchant.getNumericId(enchant));
+
+        return index < 0 ? 0 : levels[index];
+    }
+
+    /**
+     * Checks if the set contains the given enchantment.
+     *
+     * @param enchant The enchantment to check for.
+     * @return True if the enchantment is present, false otherwise.
+     */
+    public boolean contains(Enchantment enchant) {
+        return indexOf(Enchant.getNumericId(enchant)) >= 0;
+    }
+
+    /**
+     * Sets the level of the given enchantment, adding it if it isn't present.
+     *
+     * @param enchant The enchantment to set.
+     * @param level   The level of the enchantment.
+     * @throws IllegalArgumentException If the enchantment isn't registered.
+     */
+    public void put(Enchantment enchant, int level) {
+        if (!replace(enchant, level)) {
+            putIfAbsent(enchant, level);
+        }
+    }
+
+    /**
+     * Adds the given enchantment if it isn't present.
+     *
+     * @param enchant The enchantment to add.
+     * @param level   The level of the enchantment.
+     * @return True if the enchantment was added, false if it was already present.
+     * @throws IllegalArgumentException If the enchantment isn't registered.
+     */
+    public boolean putIfAbsent(Enchantment enchant, int level) {
+        int id = getRegisteredId(enchant);
+
+        if (indexOf(id) >= 0) {
+            return false;
+        }
+
+        if (size == ids.length) {
+            int capacity = Math.max(4, size * 2);
+
+            ids = Arrays.copyOf(ids, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+        }
+
+        ids[size] = id;
+        levels[size] = level;
+        size++;
+
+        return true;
+    }
+
+    /**
+     * Sets the level of the given enchantment if it is present.
+     *
+     * @param enchant The enchantment to modify.
+     * @param level   The new level of the enchantment.
+     * @return True if the enchantment was present, false otherwise.
+     * @throws IllegalArgumentException If the enchantment isn't registered.
+     */
+    public boolean replace(Enchantment enchant, int level) {
+        int index = indexOf(getRegisteredId(enchant));
+
+        if (index < 0) {
+            return false;
+        }
+
+        levels[index] = level;
+
+        return true;
+    }
+
+    /**
+     * Removes the given enchantment, keeping the order of the others.
+     *
+     * @param enchant The enchantment to remove.
+     * @return True if the enchantment was present, false otherwise.
+     * @throws IllegalArgumentException If the enchantment isn't registered.
+     */
+    public boolean remove(Enchantment enchant) {
+        int index = indexOf(getRegisteredId(enchant));
+
+        if (index < 0) {
+            return false;
+        }
+
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(levels, index + 1, levels, index, size - index - 1);
+        size--;
+
+        return true;
+    }
+
+    /**
+     * Writes the set as a list of enchantment tags.
+     *
+     * @return The list of enchantment tags.
+     */
+    public ListTag toTag() {
+        ListTag list = new ListTag();
+
+        for (int i = 0; i < size; i++) {
+            CompoundTag tag = new CompoundTag();
+
+            tag.putString("id", Enchant.getId(Enchant.getEnchantment(ids[i])));
+            tag.putShort("lvl", (short) levels[i]);
+            list.add(tag);
+        }
+
+        return list;
+    }
+
+    /**
+     * Writes the set to the given ItemStack, replacing its enchantments. Enchanted books store
+     * them as StoredEnchantments.
+     *
+     * @param stack The ItemStack to write to.
+     */
+    public void writeTo(ItemStack stack) {
+        String key = stack.is(Items.ENCHANTED_BOOK) ? EnchantedBookItem.TAG_STORED_ENCHANTMENTS : ItemStack.TAG_ENCH;
+
+        if (size == 0) {
+            stack.removeTagKey(key);
+        } else {
+            stack.addTagElement(key, toTag());
+        }
+    }
+
+    /**
+     * Retrieves the numeric registry id of an enchantment about to be written to the set.
+     *
+     * @param enchant The enchantment.
+     * @return The numeric registry id of the enchantment.
+     * @throws IllegalArgumentException If the enchantment isn't registered.
+     */
+    private static int getRegisteredId(Enchantment enchant) {
+        int id = enchant == null ? -1 : Enchant.getNumericId(enchant);
+
+        if (id < 0) {
+            throw new IllegalArgumentException("Enchantment is not registered: " + enchant);
+        }
+
+        return id;
+    }
+
+    /**
+     * Finds the position of the enchantment with the given numeric id.
+     *
+     * @param id The numeric registry id of the enchantment.
+     * @return The position of the enchantment, or -1 if not found.
+     */
+    private int indexOf(int id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,130 @@
+package com.axius.util;
+
+import net.minecraft.ChatFormatting;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Compares {@link GradientConstructor#createGradient} against the nearest-colour search it replaced,
+ * which allocated two int arrays per character and searched {@code ChatFormatting.values()}.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class GradientConstructorBenchmark {
+    private static final int[] GREEN = {0, 255, 0};
+    private static final int[] YELLOW = {255, 255, 0};
+    private static final int[] RED = {255, 0, 0};
+
+    private static final int CALLS = 2_000_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    public void compareLookupTableWithNearestSearch() {
+        String text = "✮".repeat(10);
+        long sink = 0;
+
+        // Warms up both implementations
+        for (int i = 0; i < CALLS; i++) {
+            sink += nearestSearchGradient(text, GREEN, YELLOW, RED).length();
+            sink += GradientConstructor.createGradient(text, GREEN, YELLOW, RED).length();
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+
+            for (int i = 0; i < CALLS; i++) {
+                sink += nearestSearchGradient(text, GREEN, YELLOW, RED).length();
+            }
+
+            long search = System.nanoTime() - start;
+            start = System.nanoTime();
+
+            for (int i = 0; i < CALLS; i++) {
+                sink += GradientConstructor.createGradient(text, GREEN, YELLOW, RED).length();
+            }
+
+            long table = System.nanoTime() - start;
+
+            System.out.printf("round %d: nearest search %.1f ns/call, lookup table %.1f ns/call, speedup %.2fx%n",
+                    round, (double) search / CALLS, (double) table / CALLS, (double) search / table);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        long before = threads.getThreadAllocatedBytes(thread);
+
+        for (int i = 0; i < CALLS; i++) {
+            sink += nearestSearchGradient(text, GREEN, YELLOW, RED).length();
+        }
+
+        long middle = threads.getThreadAllocatedBytes(thread);
+
+        for (int i = 0; i < CALLS; i++) {
+            sink += GradientConstructor.createGradient(text, GREEN, YELLOW, RED).length();
+        }
+
+        long after = threads.getThreadAllocatedBytes(thread);
+
+        System.out.printf("allocated: nearest search %d B/call, lookup table %d B/call (%d)%n",
+                (middle - before) / CALLS, (after - middle) / CALLS, sink);
+    }
+
+    // The gradient as built before the lookup table:
+
+    private static String nearestSearchGradient(String text, int[] color1, int[] color2, int[] color3) {
+        StringBuilder gradientBuilder = new StringBuilder();
+
+        int steps = text.length();
+
+        for (int i = 0; i < steps; i++) {
+            double progress = (double) i / (steps - 1);
+            int[] interpolatedColor = interpolateColor(color1, color2, color3, progress);
+            gradientBuilder.append(ChatFormatting.getByCode(getClosestColorCode(interpolatedColor))).append(text.charAt(i));
+        }
+
+        return gradientBuilder.toString();
+    }
+
+    private static int[] interpolateColor(int[] color1, int[] color2, int[] color3, double progress) {
+        int interpolatedR = (int) (color1[0] + progress * (color2[0] - color1[0]));
+        int interpolatedG = (int) (color1[1] + progress * (color2[1] - color1[1]));
+        int interpolatedB = (int) (color1[2] + progress * (color2[2] - color1[2]));
+
+        if (progress > 0.5) {
+            double innerProgress = (progress - 0.5) * 2.0;
+            interpolatedR += (int) (innerProgress * (color3[0] - color2[0]));
+            interpolatedG += (int) (innerProgress * (color3[1] - color2[1]));
+            interpolatedB += (int) (innerProgress * (color3[2] - color2[2]));
+        }
+
+        return new int[] { interpolatedR, interpolatedG, interpolatedB };
+    }
+
+    private static char getClosestColorCode(int[] rgb) {
+        int minDistance = Integer.MAX_VALUE;
+        char closestCode = 'f';
+
+        for (ChatFormatting chatFormat : ChatFormatting.values()) {
+            if (chatFormat.isColor()) {
+                int[] colorRgb = { (chatFormat.getColor() >> 16) & 0xFF,
+                        (chatFormat.getColor() >> 8) & 0xFF,
+                        chatFormat.getColor() & 0xFF };
+
+                int rDiff = rgb[0] - colorRgb[0];
+                int gDiff = rgb[1] - colorRgb[1];
+                int bDiff = rgb[2] - colorRgb[2];
+                int distance = rDiff * rDiff + gDiff * gDiff + bDiff * bDiff;
+
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    closestCode = chatFormat.getChar();
+                }
+            }
+        }
+
+        return closestCode;
+    }
+}
@@ -0,0 +1,134 @@
+package com.axius.util.input.gamepad;
+
+import com.axius.api.Input;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the GamepadPoller through a FakeGamepadSource. Gamepad events can't be unregistered,
+ * so every test uses its own joystick.
+ */
+public class GamepadPollerTest {
+    private FakeGamepadSource source;
+
+    @BeforeEach
+    public void setUp() {
+        source = new FakeGamepadSource();
+
+        GamepadPoller.setSource(source);
+        GamepadPoller.setDeadzone(0.25f);
+    }
+
+    @Test
+    public void buttonMovesFromPressToHoldToRelease() {
+        int joystick = Input.Joysticks.JOYSTICK_1;
+        int button = Input.Gamepad.GAMEPAD_BUTTON_A;
+        List<Input.Type> states = new ArrayList<>();
+        Input.GamepadEvent event = new Input.GamepadEvent("test_button", joystick, button, states::add);
+
+        source.setConnected(joystick, true).setButton(joystick, button, true);
+
+        GamepadPoller.poll();
+        assertEquals(List.of(Input.Type.Press), states);
+        assertTrue(GamepadPoller.isDown(joystick, button));
+
+        GamepadPoller.poll();
+        GamepadPoller.poll();
+        assertEquals(List.of(Input.Type.Press, Input.Type.Hold), states);
+        assertTrue(event.isDown());
+
+        source.setButton(joystick, button, false);
+
+        GamepadPoller.poll();
+        assertEquals(List.of(Input.Type.Press, Input.Type.Hold, Input.Type.Release), states);
+        assertFalse(GamepadPoller.isDown(joystick, button));
+        assertFalse(event.isDown());
+    }
+
+    @Test
+    public void axisCrossesThresholdOnlyOutsideDeadzone() {
+        int joystick = Input.Joysticks.JOYSTICK_2;
+        int axis = Input.Gamepad.GAMEPAD_AXIS_LEFT_X;
+        List<Input.Type> right = new ArrayList<>();
+        List<Input.Type> left = new ArrayList<>();
+        new Input.GamepadEvent("test_right", joystick, Input.GamepadEvent.axis(axis, true), Input.Type.Press, right::add);
+        new Input.GamepadEvent("test_left", joystick, Input.GamepadEvent.axis(axis, false), Input.Type.Press, left::add);
+
+        source.setConnected(joystick, true).setAxis(joystick, axis, 0.2f);
+
+        GamepadPoller.poll();
+        assertEquals(0.0f, GamepadPoller.getAxis(joystick, axis));
+        assertTrue(right.isEmpty());
+
+        source.setAxis(joystick, axis, 0.625f);
+
+        GamepadPoller.poll();
+        assertEquals(0.5f, GamepadPoller.getAxis(joystick, axis), 1e-6f);
+        assertEquals(List.of(Input.Type.Press), right);
+        assertTrue(left.isEmpty());
+
+        source.setAxis(joystick, axis, -1.0f);
+
+        GamepadPoller.poll();
+        assertEquals(-1.0f, GamepadPoller.getAxis(joystick, axis), 1e-6f);
+        assertFalse(GamepadPoller.isDown(joystick, Input.GamepadEvent.axis(axis, true)));
+        assertEquals(List.of(Input.Type.Press), left);
+    }
+
+    @Test
+    public void triggerAtRestIsNotDown() {
+        int joystick = Input.Joysticks.JOYSTICK_3;
+        int axis = Input.Gamepad.GAMEPAD_AXIS_RIGHT_TRIGGER;
+        int control = Input.GamepadEvent.axis(axis, true);
+        List<Input.Type> states = new ArrayList<>();
+        new Input.GamepadEvent("test_trigger", joystick, control, states::add);
+
+        source.setConnected(joystick, true).setAxis(joystick, axis, -1.0f);
+
+        GamepadPoller.poll();
+        assertEquals(0.0f, GamepadPoller.getAxis(joystick, axis));
+        assertTrue(states.isEmpty());
+
+        source.setAxis(joystick, axis, 1.0f);
+
+        GamepadPoller.poll();
+        assertEquals(1.0f, GamepadPoller.getAxis(joystick, axis), 1e-6f);
+        assertEquals(List.of(Input.Type.Press), states);
+    }
+
+    @Test
+    public void disconnectReleasesAndClearsState() {
+        int joystick = Input.Joysticks.JOYSTICK_4;
+        int button = Input.Gamepad.GAMEPAD_BUTTON_B;
+        int axis = Input.Gamepad.GAMEPAD_AXIS_RIGHT_Y;
+        List<Input.Type> buttonStates = new ArrayList<>();
+        List<Input.Type> axisStates = new ArrayList<>();
+        new Input.GamepadEvent("test_held", joystick, button, buttonStates::add);
+        new Input.GamepadEvent("test_stick", joystick, Input.GamepadEvent.axis(axis, false), axisStates::add);
+
+        source.setConnected(joystick, true).setButton(joystick, button, true).setAxis(joystick, axis, -0.9f);
+
+        GamepadPoller.poll();
+        assertTrue(GamepadPoller.isConnected(joystick));
+
+        source.setConnected(joystick, false);
+
+        GamepadPoller.poll();
+        assertFalse(GamepadPoller.isConnected(joystick));
+        assertFalse(GamepadPoller.isDown(joystick, button));
+        assertFalse(GamepadPoller.isDown(joystick, Input.GamepadEvent.axis(axis, false)));
+        assertEquals(0.0f, GamepadPoller.getAxis(joystick, axis));
+        assertEquals(List.of(Input.Type.Press, Input.Type.Release), buttonStates);
+        assertEquals(List.of(Input.Type.Press, Input.Type.Release), axisStates);
+
+        GamepadPoller.poll();
+        assertEquals(List.of(Input.Type.Press, Input.Type.Release), buttonStates);
+    }
+}